@@ -1,17 +1,27 @@
 package game;
 
 import game.data.DataInputOutput;
-import game.data.SortedLinkedList;
+import game.data.EntitySpatialHash;
+import game.data.EntityStore;
+import game.data.FlowField;
+import game.data.PathFinder;
 import game.entity.Player;
 import game.entity.bomb.Bomb;
+import game.entity.bomb.DangerMap;
+import game.entity.bomb.DetonationResolver;
 import game.entity.models.BomberEntity;
 import game.entity.models.Entity;
+import game.entity.models.ProjectileSystem;
 import game.hardwareinput.ControllerManager;
 import game.hardwareinput.MouseControllerManager;
 import game.items.BombItem;
 import game.items.UsableItem;
 import game.level.Level;
+import game.tasks.DecisionPhase;
+import game.tasks.GameClock;
+import game.tasks.GameLoop;
 import game.tasks.GamePausedObserver;
+import game.tasks.GameScheduler;
 import game.tasks.GameTickerObservable;
 import game.ui.panels.game.MatchPanel;
 import game.ui.panels.menus.PausePanel;
@@ -19,17 +29,26 @@ import game.utils.Utility;
 import game.viewcontrollers.*;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class BomberManMatch {
-    private final SortedLinkedList<Entity> entities;
+    private final EntityStore entities;
+    private final EntitySpatialHash spatialHash = new EntitySpatialHash();
     private final MouseControllerManager mouseControllerManager;
     private InventoryElementController inventoryElementControllerPoints;
     private InventoryElementController inventoryElementControllerBombs;
     private InventoryElementController inventoryElementControllerLives;
     private InventoryElementController inventoryElementControllerRounds;
     private GameTickerObservable gameTickerObservable;
+    private final GameClock clock = new GameClock();
+    private final GameScheduler scheduler;
+    private final DetonationResolver detonationResolver = new DetonationResolver();
+    private final PathFinder pathFinder = new PathFinder(spatialHash.getOccupancy());
+    private final FlowField flowField = new FlowField(spatialHash.getOccupancy());
+    private final DangerMap dangerMap = new DangerMap(spatialHash.getOccupancy());
+    private final DecisionPhase decisionPhase = new DecisionPhase();
+    private final ProjectileSystem projectileSystem = new ProjectileSystem(this, spatialHash, clock);
     private long lastGamePauseStateTime = System.currentTimeMillis();
     private ControllerManager controllerManager;
     private Level currentLevel;
@@ -37,18 +56,48 @@ public class BomberManMatch {
     private final ArrayList<Bomb> bombs = new ArrayList<>();
     private boolean gameState = false;
     private int enemiesAlive = 0;
+    // The entities as they were at the end of the last tick, read by the rendering
+    private volatile List<? extends Entity> entitiesSnapshot = null;
+    // Versions of the published snapshots, shared by all the matches since the entity pools outlive them
+    private static final AtomicLong snapshotVersions = new AtomicLong();
+    private final Object snapshotLock = new Object();
+    private long entitiesSnapshotVersion = snapshotVersions.incrementAndGet();
+    // Version of the snapshot being drawn, NOT_DRAWING if the rendering isn't drawing any
+    private static final long NOT_DRAWING = -1;
+    private long drawnSnapshotVersion = NOT_DRAWING;
+    // Headless matches have no frame and aren't timed by the game thread: they advance only when stepped
+    private final boolean headless;
 
     private BomberManMatch() {
         this(null);
     }
 
     public BomberManMatch(Level currentLevel) {
+        this(currentLevel, false);
+    }
+
+    /**
+     * Creates a match; a headless match doesn't start ticking by itself, it has to be advanced with step(), which also
+     * runs its scheduled tasks.
+     *
+     * @param currentLevel the level of the match
+     * @param headless     true if the match runs without a frame
+     */
+    public BomberManMatch(Level currentLevel, boolean headless) {
         this.currentLevel = currentLevel;
-        this.entities = new SortedLinkedList<>();
+        this.headless = headless;
+        this.entities = new EntityStore();
 
         this.controllerManager = new ControllerManager();
         this.mouseControllerManager = new MouseControllerManager();
-        this.gameTickerObservable = new GameTickerObservable();
+        this.gameTickerObservable = new GameTickerObservable(!headless);
+        this.scheduler = new GameScheduler(clock, !headless);
+        this.scheduler.resume();
+
+        if (!headless) {
+            this.clock.resume();
+        }
+
         this.controllerManager.register(new GamePausedObserver());
         this.setupViewControllers();
         ControllerManager.setDefaultCommandDelay();
@@ -117,25 +166,107 @@ public class BomberManMatch {
         return bombs;
     }
 
+    /**
+     * @return the current entities in drawing order, as an immutable snapshot;
+     */
     public List<? extends Entity> getEntities() {
-        synchronized (entities) {
-            return new LinkedList<>(entities);
+        return entities.snapshot();
+    }
+
+    public Entity getEntity(long id) {
+        return entities.get(id);
+    }
+
+    /**
+     * Publishes the current entities and projectiles for the rendering, called by the game thread at the end of each tick.
+     */
+    public void publishEntitiesSnapshot() {
+        synchronized (snapshotLock) {
+            entitiesSnapshot = entities.snapshot();
+            entitiesSnapshotVersion = snapshotVersions.incrementAndGet();
         }
+
+        projectileSystem.publishSnapshot();
     }
 
+    /**
+     * Takes the last published entities for drawing them: the pooled entities they contain aren't reused until
+     * endDrawingEntitiesSnapshot is called.
+     *
+     * @return the entities as they were at the end of the last tick;
+     */
+    public List<? extends Entity> beginDrawingEntitiesSnapshot() {
+        synchronized (snapshotLock) {
+            drawnSnapshotVersion = entitiesSnapshotVersion;
+            return getEntitiesSnapshot();
+        }
+    }
 
-    public void addEntity(Entity entity) {
-        synchronized (entities) {
-            entities.add(entity);
+    public void endDrawingEntitiesSnapshot() {
+        synchronized (snapshotLock) {
+            drawnSnapshotVersion = NOT_DRAWING;
         }
     }
 
-    public void removeEntity(Entity e) {
-        synchronized (entities) {
-            entities.removeIf(e1 -> e.getId() == e1.getId());
+    /**
+     * @return the version of the last published snapshot;
+     */
+    public long getEntitiesSnapshotVersion() {
+        synchronized (snapshotLock) {
+            return entitiesSnapshotVersion;
         }
     }
 
+    /**
+     * @return the version of the snapshot being drawn, or of the last published one if none is, since it's the one
+     * the next frame will draw;
+     */
+    public long getOldestVisibleSnapshotVersion() {
+        synchronized (snapshotLock) {
+            return drawnSnapshotVersion != NOT_DRAWING ? drawnSnapshotVersion : entitiesSnapshotVersion;
+        }
+    }
+
+    /**
+     * @return true if the current thread is the one changing the world of the match: the game thread, or the caller
+     * of step() for a headless match;
+     */
+    public boolean isGameThread() {
+        return headless || GameLoop.getInstance().isGameThread();
+    }
+
+    /**
+     * @return the entities as they were at the end of the last tick, or the current ones if no tick has ended yet;
+     */
+    public List<? extends Entity> getEntitiesSnapshot() {
+        List<? extends Entity> snapshot = entitiesSnapshot;
+        return snapshot != null ? snapshot : getEntities();
+    }
+
+
+    public void addEntity(Entity entity) {
+        entities.add(entity);
+        spatialHash.add(entity);
+    }
+
+    public void removeEntity(Entity e) {
+        entities.remove(e);
+        spatialHash.remove(e);
+    }
+
+    /**
+     * Keeps the spatial hash in sync with the coordinates of a spawned entity.
+     *
+     * @param e the entity that has been moved
+     */
+    public void onEntityMoved(Entity e) {
+        spatialHash.update(e);
+    }
+
+    public EntitySpatialHash getSpatialHash() {
+        return spatialHash;
+    }
+
     public ControllerManager getControllerManager() {
         return controllerManager;
     }
@@ -148,6 +279,62 @@ public class BomberManMatch {
         return gameTickerObservable;
     }
 
+    public GameScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public GameClock getClock() {
+        return clock;
+    }
+
+    public DetonationResolver getDetonationResolver() {
+        return detonationResolver;
+    }
+
+    public PathFinder getPathFinder() {
+        return pathFinder;
+    }
+
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    public DangerMap getDangerMap() {
+        return dangerMap;
+    }
+
+    public DecisionPhase getDecisionPhase() {
+        return decisionPhase;
+    }
+
+    public ProjectileSystem getProjectileSystem() {
+        return projectileSystem;
+    }
+
+    /**
+     * Changes the speed of the match, e.g. 2 to run it twice as fast as the real time.
+     *
+     * @param timeScale the speed of the game time compared to the real time, greater than 0
+     */
+    public void setTimeScale(double timeScale) {
+        clock.setTimeScale(timeScale);
+        gameTickerObservable.setTimeScale(timeScale);
+    }
+
+    /**
+     * Advances a headless match by one tick: moves the game time forward, updates the entities
+     * and runs the scheduled tasks that are due, as fast as the caller asks.
+     */
+    public void step() {
+        clock.advance(GameTickerObservable.DELAY_MS);
+        gameTickerObservable.tick();
+        scheduler.runDueTasks();
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
     public void toggleGameState() {
         if (Utility.timePassed(lastGamePauseStateTime) < 500) return;
 
@@ -159,12 +346,16 @@ public class BomberManMatch {
 
     private void pauseGame() {
         gameTickerObservable.stop();
+        scheduler.pause();
+        clock.pause();
         gameState = false;
         Bomberman.showActivity(PausePanel.class);
     }
 
     private void resumeGame() {
+        clock.resume();
         gameTickerObservable.resume();
+        scheduler.resume();
         gameState = true;
         Bomberman.showActivity(MatchPanel.class);
         currentLevel.playSoundTrack();
@@ -208,13 +399,17 @@ public class BomberManMatch {
 
     public void destroy() {
         pauseGame();
+        scheduler.destroy();
 
         List<? extends Entity> list = getEntities();
         for (Entity e : list) {
             e.despawn();
         }
 
-        Bomberman.getBombermanFrame().getPitchPanel().clearGraphicsCallback();
+        if (!headless) {
+            Bomberman.getBombermanFrame().getPitchPanel().clearGraphicsCallback();
+            Bomberman.getBombermanFrame().getPitchPanel().stopRendering();
+        }
 
         if (this.currentLevel != null) {
             this.currentLevel.stopLevelSound();
@@ -224,6 +419,10 @@ public class BomberManMatch {
         this.player = null;
         this.currentLevel = null;
         this.entities.clear();
+        this.spatialHash.clear();
+        this.dangerMap.clear();
+        this.projectileSystem.clear();
+        this.entitiesSnapshot = null;
         this.enemiesAlive = 0;
         this.mouseControllerManager.stopPeriodicTask();
         this.gameTickerObservable.unregisterAll();
@@ -5,15 +5,18 @@ import game.level.Level;
 import game.level.WorldSelectorLevel;
 import game.localization.Localization;
 import game.sound.AudioManager;
+import game.tasks.GameLoop;
 import game.tasks.GarbageCollectorTask;
 import game.ui.panels.BombermanFrame;
 import game.ui.panels.PagePanel;
 import game.ui.panels.game.CustomSoundMode;
 import game.ui.panels.game.MatchPanel;
+import game.ui.panels.game.PitchPanel;
 import game.ui.panels.menus.LoadingPanel;
 import game.ui.panels.menus.MainMenuPanel;
 import game.ui.viewelements.misc.ToastHandler;
 
+import javax.swing.*;
 import java.awt.*;
 import java.util.Arrays;
 import java.util.Optional;
@@ -56,15 +59,25 @@ public class Bomberman {
         return bomberManMatch;
     }
 
+    public static boolean isHeadless() {
+        return bomberManMatch != null && bomberManMatch.isHeadless();
+    }
+
     public static void quitMatch() {
         destroyLevel();
         showActivity(MainMenuPanel.class);
     }
 
     public static void destroyLevel() {
+        // Headless matches are destroyed only by their runner, see endHeadlessMatch
+        if (isHeadless()) return;
+
         if (bomberManMatch != null) {
             Bomberman.getBombermanFrame().removeKeyListener(bomberManMatch.getControllerManager());
-            bomberManMatch.destroy();
+
+            // The entities are despawned by the game thread, like every other change to the world
+            BomberManMatch match = bomberManMatch;
+            GameLoop.getInstance().invokeAndWait(match::destroy);
         }
         bomberManMatch = new BomberManMatch(new WorldSelectorLevel()); // Temporary sets the current level to WorldSelectorLevel to avoid null pointer exception if some threads aren't killed yet
         System.gc();
@@ -79,16 +92,56 @@ public class Bomberman {
         destroyLevel();
         bomberManMatch = new BomberManMatch(level);
         bombermanFrame.initGamePanel();
-        bomberManMatch.getCurrentLevel().start(bombermanFrame.getPitchPanel());
-        bomberManMatch.assignPlayerToControllerManager();
+
+        // The world is only changed by the game thread
+        GameLoop.getInstance().invokeAndWait(() -> {
+            bomberManMatch.getCurrentLevel().start(bombermanFrame.getPitchPanel().getPreferredSize());
+            bomberManMatch.assignPlayerToControllerManager();
+        });
 
         Bomberman.getBombermanFrame().addKeyListener(Bomberman.getMatch().getControllerManager());
-        Bomberman.getBombermanFrame().getPitchPanel().addMouseListener(Bomberman.getMatch().getMouseControllerManager());
-        Bomberman.getBombermanFrame().getPitchPanel().addMouseMotionListener(Bomberman.getMatch().getMouseControllerManager());
+        Bomberman.getBombermanFrame().getPitchPanel().getRenderComponent().addMouseListener(Bomberman.getMatch().getMouseControllerManager());
+        Bomberman.getBombermanFrame().getPitchPanel().getRenderComponent().addMouseMotionListener(Bomberman.getMatch().getMouseControllerManager());
         showActivity(MatchPanel.class);
     }
 
+    /**
+     * Starts a level without any frame, audio or rendering, replacing the current match; the match is then
+     * advanced by the caller with BomberManMatch.step().
+     *
+     * @param level the level to start
+     * @return the new match
+     */
+    static BomberManMatch startHeadlessMatch(Level level) {
+        AudioManager.getInstance().setEnabled(false);
+
+        if (bomberManMatch != null) bomberManMatch.destroy();
+        bomberManMatch = new BomberManMatch(level, true);
+        level.start(PitchPanel.DIMENSION);
+        bomberManMatch.assignPlayerToControllerManager();
+        return bomberManMatch;
+    }
+
+    /**
+     * Destroys the current headless match, so the next level starts as usual, and enables the audio again.
+     */
+    static void endHeadlessMatch() {
+        if (!isHeadless()) return;
+
+        bomberManMatch.destroy();
+        bomberManMatch = null;
+        AudioManager.getInstance().setEnabled(true);
+    }
+
     public static void startLevel(Level level) {
+        // Levels started by the game, e.g. when a headless match ends, are ignored: the runner picks the next one
+        if (isHeadless()) return;
+
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> startLevel(level));
+            return;
+        }
+
         bombermanFrame.getLoadingPanel().initialize();
         bombermanFrame.getLoadingPanel().updateText(level);
         bombermanFrame.getLoadingPanel().setCallback(() -> doStartLevel(level));
@@ -102,6 +155,14 @@ public class Bomberman {
      * @param page
      */
     public static void showActivity(Class<? extends PagePanel> page) {
+        if (isHeadless()) return;
+
+        // Pages can be changed by the game thread too, e.g. when the game gets paused
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> showActivity(page));
+            return;
+        }
+
         bombermanFrame.getCardLayout().show(bombermanFrame.getParentPanel(), page.getSimpleName());
 
         // Gets the component with the passed class and fires its onShowCallback;
@@ -1,35 +1,193 @@
 package game.cache;
 
-import java.util.HashMap;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 
-public class Cache {
-    private final HashMap<String, Object> cache = new HashMap<>();
+/**
+ * A thread-safe cache bounded by the total weight of its elements.
+ * Elements are kept in least-recently-used order and the eldest ones are evicted when the weight cap is exceeded;
+ * values are also softly referenced, so the garbage collector can reclaim them under memory pressure; the entries of
+ * the reclaimed values are dropped, with their weight, before the next element is saved.
+ *
+ * @param <T> the type of the cached elements
+ */
+public class Cache<T> {
+    // Access-ordered map, the first entry is always the least recently used one
+    private final LinkedHashMap<String, CacheEntry<T>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    // Gets the references cleared by the garbage collector
+    private final ReferenceQueue<T> clearedReferences = new ReferenceQueue<>();
+    private final ToLongFunction<T> weigher;
+    private long maxWeight;
+    private long currentWeight = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
 
-    // Private constructor to prevent direct instantiation
-    private Cache() {
-        // Initialize any necessary resources or setup here
+    /**
+     * @param maxWeight the maximum total weight of the cached elements
+     * @param weigher   computes the weight of a single element
+     */
+    public Cache(long maxWeight, ToLongFunction<T> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
     }
 
-    // Method to provide access to the singleton instance
-    public static Cache getInstance() {
-        return InstanceHolder.instance;
+    public synchronized T queryCache(String key) {
+        CacheEntry<T> entry = cache.get(key);
+
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+
+        T element = entry.get();
+
+        // The element has been reclaimed by the garbage collector
+        if (element == null) {
+            removeEntry(key);
+            evictions++;
+            misses++;
+            return null;
+        }
+
+        hits++;
+        return element;
     }
 
-    public <T> T queryCache(String key) {
-        Object element = cache.getOrDefault(key, null);
-        return (T) element;
+    /**
+     * Returns the element associated with the key, loading and caching it if it's not in cache.
+     * The loader runs outside the lock, so concurrent misses on the same key may load it more than once.
+     *
+     * @param key    the key of the element
+     * @param loader loads the element on a cache miss, may return null
+     * @return the cached or loaded element, or null if the loader returned null
+     */
+    public T queryCache(String key, Function<String, T> loader) {
+        T element = queryCache(key);
+        if (element != null) return element;
+
+        element = loader.apply(key);
+        if (element != null) saveInCache(key, element);
+
+        return element;
     }
 
-    public boolean hasInCache(String key) {
-        return cache.containsKey(key);
+    public synchronized boolean hasInCache(String key) {
+        CacheEntry<T> entry = cache.get(key);
+        return entry != null && entry.get() != null;
     }
 
-    public void saveInCache(String key, Object o) {
-        cache.put(key, o);
+    public synchronized void saveInCache(String key, T o) {
+        removeClearedEntries();
+        removeEntry(key);
+
+        long weight = weigher.applyAsLong(o);
+
+        // Elements heavier than the whole cache are never stored
+        if (weight > maxWeight) return;
+
+        cache.put(key, new CacheEntry<>(key, o, weight, clearedReferences));
+        currentWeight += weight;
+        trimToWeight(maxWeight);
     }
 
-    private static final class InstanceHolder {
-        private static final Cache instance = new Cache();
+    public synchronized void removeFromCache(String key) {
+        removeEntry(key);
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+        currentWeight = 0;
+    }
+
+    public synchronized void setMaxWeight(long maxWeight) {
+        this.maxWeight = maxWeight;
+        trimToWeight(maxWeight);
+    }
+
+    public synchronized long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public synchronized long getCurrentWeight() {
+        return currentWeight;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
     }
-}
 
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized void resetStats() {
+        hits = misses = evictions = 0;
+    }
+
+    private void removeEntry(String key) {
+        CacheEntry<T> entry = cache.remove(key);
+        if (entry != null) currentWeight -= entry.weight;
+    }
+
+    // Drops the entries whose element has been reclaimed by the garbage collector, unless they are already gone
+    private void removeClearedEntries() {
+        Reference<? extends T> reference;
+
+        while ((reference = clearedReferences.poll()) != null) {
+            CacheEntry<?> entry = (CacheEntry<?>) reference;
+
+            if (cache.remove(entry.key, entry)) {
+                currentWeight -= entry.weight;
+                evictions++;
+            }
+        }
+    }
+
+    // Evicts the least recently used elements until the total weight fits in the given one
+    private void trimToWeight(long weight) {
+        removeClearedEntries();
+
+        Iterator<Map.Entry<String, CacheEntry<T>>> iterator = cache.entrySet().iterator();
+
+        while (currentWeight > weight && iterator.hasNext()) {
+            CacheEntry<T> eldest = iterator.next().getValue();
+            iterator.remove();
+            currentWeight -= eldest.weight;
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "%s{size=%d, weight=%d/%d, hits=%d, misses=%d, evictions=%d}",
+                getClass().getSimpleName(), cache.size(), currentWeight, maxWeight, hits, misses, evictions
+        );
+    }
+
+    private static final class CacheEntry<T> extends SoftReference<T> {
+        private final String key;
+        private final long weight;
+
+        private CacheEntry(String key, T element, long weight, ReferenceQueue<T> queue) {
+            super(element, queue);
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+}
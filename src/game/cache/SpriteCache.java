@@ -0,0 +1,41 @@
+package game.cache;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Cache of the decoded images, keyed by asset path and bounded by the memory they take.
+ */
+public class SpriteCache extends Cache<BufferedImage> {
+    public static final long DEFAULT_MAX_MEMORY_BYTES = 64L * 1024 * 1024;
+
+    // Private constructor to prevent direct instantiation
+    private SpriteCache() {
+        super(DEFAULT_MAX_MEMORY_BYTES, SpriteCache::sizeOf);
+    }
+
+    // Method to provide access to the singleton instance
+    public static SpriteCache getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Sets the memory cap of the cache, evicting the least recently used images if needed.
+     *
+     * @param bytes the maximum memory, in bytes
+     */
+    public void setMaxMemory(long bytes) {
+        setMaxWeight(bytes);
+    }
+
+    /**
+     * @return the approximate amount of memory an image takes once decoded, in bytes;
+     */
+    private static long sizeOf(BufferedImage image) {
+        int bytesPerPixel = Math.max(1, image.getColorModel().getPixelSize() / 8);
+        return (long) image.getWidth() * image.getHeight() * bytesPerPixel;
+    }
+
+    private static final class InstanceHolder {
+        private static final SpriteCache instance = new SpriteCache();
+    }
+}
@@ -14,6 +14,8 @@ import java.nio.file.Files;
 public class DataInputOutput {
     public static int START_LIVES = 3;
     private PlayerDataObject playerDataObject;
+    // When true, the player data is kept only in memory and never written to the data file
+    private boolean temporary = false;
 
     // Private instance of the class
     private static DataInputOutput instance;
@@ -36,11 +38,22 @@ public class DataInputOutput {
         playerDataObject = getStoredPlayerData();
     }
 
+    /**
+     * Replaces the player data with a fresh one that is never stored, so matches that aren't played by the user
+     * (e.g. headless ones) don't change the saved progress.
+     */
+    public void useTemporaryData() {
+        temporary = true;
+        playerDataObject = new PlayerDataObject();
+    }
+
     public void updateStoredPlayerData() {
         updateStoredPlayerData(playerDataObject);
     }
 
     public void updateStoredPlayerData(PlayerDataObject serObj) {
+        if (temporary) return;
+
         try {
             // Creates a data file if still does not exist;
             Files.createDirectories(java.nio.file.Paths.get(Paths.getDataFolder()));
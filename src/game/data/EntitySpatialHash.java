@@ -0,0 +1,304 @@
+package game.data;
+
+import game.entity.models.Coordinates;
+import game.entity.models.Entity;
+import game.ui.panels.game.PitchPanel;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * Uniform grid of GRID_SIZE cells over the pitch, where every spawned entity is stored in the cells its hitbox
+ * overlaps, so the entities around a point or an area are found without scanning all of them.
+ * Entities outside the pitch are kept in the border cells.
+ * The results of the queries are sorted like the entities of the match: by draw priority, then by insertion order.
+ * The occupancy of the tiles, which are the cells of the hash, is kept up to date with the entities.
+ */
+public class EntitySpatialHash {
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing((Entry entry) -> entry.entity.getDrawPriority())
+            .thenComparingLong(entry -> entry.sequence);
+    private final int columns;
+    private final int rows;
+    private final List<Entry>[] cells;
+    private final TileOccupancy occupancy;
+    private final Map<Entity, Entry> entries = new HashMap<>();
+    private long sequence = 0;
+    // Incremented on every query, so entities stored in more cells are returned only once
+    private int queryStamp = 0;
+
+    public EntitySpatialHash() {
+        this(PitchPanel.DIMENSION.width / GRID_SIZE, PitchPanel.DIMENSION.height / GRID_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public EntitySpatialHash(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        this.cells = (List<Entry>[]) new List<?>[columns * rows];
+        this.occupancy = new TileOccupancy(columns, rows);
+
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new ArrayList<>(4);
+        }
+    }
+
+    public synchronized void add(Entity e) {
+        if (entries.containsKey(e)) {
+            update(e);
+            return;
+        }
+
+        Entry entry = new Entry(e, sequence++, TileOccupancy.Layer.maskOf(e));
+        entries.put(e, entry);
+        insert(entry);
+    }
+
+    /**
+     * Moves the entity to the cells of its current coordinates.
+     *
+     * @param e the entity whose coordinates have changed
+     */
+    public synchronized void update(Entity e) {
+        Entry entry = entries.get(e);
+        if (entry == null) return;
+
+        int x = e.getX();
+        int y = e.getY();
+        if (x == entry.x && y == entry.y) return;
+
+        // Still on the same cells, only the hitbox has to be moved
+        if (column(x) == entry.minColumn && row(y) == entry.minRow
+                && column(x + entry.size - 1) == entry.maxColumn && row(y + entry.size - 1) == entry.maxRow) {
+            occupancy.remove(entry.x, entry.y, entry.size, entry.layers);
+            entry.x = x;
+            entry.y = y;
+            occupancy.add(x, y, entry.size, entry.layers);
+            return;
+        }
+
+        delete(entry);
+        insert(entry);
+    }
+
+    public synchronized void remove(Entity e) {
+        Entry entry = entries.remove(e);
+        if (entry != null) delete(entry);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+
+        for (List<Entry> cell : cells) {
+            cell.clear();
+        }
+
+        occupancy.clear();
+    }
+
+    public TileOccupancy getOccupancy() {
+        return occupancy;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the entities whose hitbox contains the given point;
+     */
+    public synchronized List<Entity> getEntitiesOnPoint(int x, int y) {
+        return getEntitiesInArea(x, y, 1, 1, null);
+    }
+
+    /**
+     * @return true if the hitbox of at least one entity contains the given point;
+     */
+    public synchronized boolean hasEntitiesOnPoint(int x, int y) {
+        List<Entry> cell = cells[index(column(x), row(y))];
+
+        // Indexed loop, so no iterator is allocated
+        for (int i = 0; i < cell.size(); i++) {
+            if (cell.get(i).contains(x, y)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the entities whose hitbox contains at least one of the given points.
+     *
+     * @param points the points to check
+     * @return the entities found, each one only once
+     */
+    public synchronized List<Entity> getEntitiesOnPoints(Collection<Coordinates> points) {
+        int stamp = ++queryStamp;
+        List<Entry> found = new ArrayList<>();
+
+        for (Coordinates point : points) {
+            for (Entry entry : cells[index(column(point.getX()), row(point.getY()))]) {
+                if (entry.stamp != stamp && entry.contains(point.getX(), point.getY())) {
+                    entry.stamp = stamp;
+                    found.add(entry);
+                }
+            }
+        }
+
+        return toEntities(found);
+    }
+
+    /**
+     * @return the entities overlapping the tile at the given column and row;
+     */
+    public synchronized List<Entity> getEntitiesOnTile(int column, int row) {
+        return getEntitiesInArea(column * GRID_SIZE, row * GRID_SIZE, GRID_SIZE, GRID_SIZE, null);
+    }
+
+    /**
+     * @return the entities overlapping the given rectangle;
+     */
+    public synchronized List<Entity> getEntitiesInArea(Rectangle area) {
+        return getEntitiesInArea(area.x, area.y, area.width, area.height, null);
+    }
+
+    /**
+     * Gets the entities overlapping the given rectangle and accepted by the filter.
+     *
+     * @param filter additional check on the entities found, null to accept all of them
+     * @return the entities found, each one only once
+     */
+    public synchronized List<Entity> getEntitiesInArea(int x, int y, int width, int height, Predicate<Entity> filter) {
+        int stamp = ++queryStamp;
+        int lastX = x + width - 1;
+        int lastY = y + height - 1;
+        List<Entry> found = new ArrayList<>();
+
+        for (int row = row(y); row <= row(lastY); row++) {
+            for (int column = column(x); column <= column(lastX); column++) {
+                for (Entry entry : cells[index(column, row)]) {
+                    if (entry.stamp == stamp) continue;
+                    entry.stamp = stamp;
+
+                    if (entry.overlaps(x, y, lastX, lastY) && (filter == null || filter.test(entry.entity)))
+                        found.add(entry);
+                }
+            }
+        }
+
+        return toEntities(found);
+    }
+
+    /**
+     * Adds the entities overlapping the given rectangle to a list, without sorting them and without allocating,
+     * so the list can be reused by the caller.
+     *
+     * @param found the list to add the entities to, each one only once
+     */
+    public synchronized void collectEntitiesInArea(int x, int y, int width, int height, List<Entity> found) {
+        int stamp = ++queryStamp;
+        int lastX = x + width - 1;
+        int lastY = y + height - 1;
+
+        for (int row = row(y); row <= row(lastY); row++) {
+            for (int column = column(x); column <= column(lastX); column++) {
+                List<Entry> cell = cells[index(column, row)];
+
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry entry = cell.get(i);
+                    if (entry.stamp == stamp) continue;
+                    entry.stamp = stamp;
+
+                    if (entry.overlaps(x, y, lastX, lastY)) found.add(entry.entity);
+                }
+            }
+        }
+    }
+
+    private void insert(Entry entry) {
+        int x = entry.entity.getX();
+        int y = entry.entity.getY();
+
+        entry.x = x;
+        entry.y = y;
+        entry.size = entry.entity.getSize();
+        entry.minColumn = column(x);
+        entry.minRow = row(y);
+        entry.maxColumn = column(x + entry.size - 1);
+        entry.maxRow = row(y + entry.size - 1);
+
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int column = entry.minColumn; column <= entry.maxColumn; column++) {
+                cells[index(column, row)].add(entry);
+            }
+        }
+
+        occupancy.add(x, y, entry.size, entry.layers);
+    }
+
+    private void delete(Entry entry) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int column = entry.minColumn; column <= entry.maxColumn; column++) {
+                cells[index(column, row)].remove(entry);
+            }
+        }
+
+        occupancy.remove(entry.x, entry.y, entry.size, entry.layers);
+    }
+
+    private static List<Entity> toEntities(List<Entry> found) {
+        if (found.size() > 1) found.sort(ORDER);
+
+        List<Entity> result = new ArrayList<>(found.size());
+        for (Entry entry : found) {
+            result.add(entry.entity);
+        }
+
+        return result;
+    }
+
+    private int index(int column, int row) {
+        return row * columns + column;
+    }
+
+    // Cells out of the pitch are clamped to the border ones
+    private int column(int x) {
+        return Math.max(0, Math.min(columns - 1, Math.floorDiv(x, GRID_SIZE)));
+    }
+
+    private int row(int y) {
+        return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, GRID_SIZE)));
+    }
+
+    private static final class Entry {
+        private final Entity entity;
+        private final long sequence;
+        // Layers of the entity in the TileOccupancy
+        private final int layers;
+        // Hitbox and cells at the time of the last insertion
+        private int x, y, size;
+        private int minColumn, minRow, maxColumn, maxRow;
+        private int stamp;
+
+        private Entry(Entity entity, long sequence, int layers) {
+            this.entity = entity;
+            this.sequence = sequence;
+            this.layers = layers;
+        }
+
+        private boolean contains(int px, int py) {
+            return px >= x && px <= x + size - 1 && py >= y && py <= y + size - 1;
+        }
+
+        private boolean overlaps(int left, int top, int right, int bottom) {
+            return x <= right && x + size - 1 >= left && y <= bottom && y + size - 1 >= top;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package game.data;
+
+import game.entity.models.Entity;
+import game.values.DrawPriority;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Stores the entities of a match in one bucket per DrawPriority, so they are always iterated in drawing order
+ * (by draw priority, then by insertion order) without sorting them on every insertion.
+ * Entities are added and removed in constant time and can be looked up by id.
+ * Readers iterate over snapshots: immutable arrays built again only after the store has changed,
+ * so they are consistent even while the store is being modified and cost nothing when it isn't.
+ */
+public class EntityStore {
+    private static final DrawPriority[] PRIORITIES = DrawPriority.values();
+    private final Map<Long, Entity>[] buckets;
+    private final Map<Long, Entity> entitiesById = new HashMap<>();
+    private Snapshot snapshot = Snapshot.EMPTY;
+    private boolean changed = false;
+
+    @SuppressWarnings("unchecked")
+    public EntityStore() {
+        buckets = (Map<Long, Entity>[]) new Map<?, ?>[PRIORITIES.length];
+
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * @return true if the entity has been added, false if it was already stored;
+     */
+    public synchronized boolean add(Entity e) {
+        if (entitiesById.putIfAbsent(e.getId(), e) != null) return false;
+
+        buckets[e.getDrawPriority().ordinal()].put(e.getId(), e);
+        changed = true;
+        return true;
+    }
+
+    /**
+     * Removes the entity with the same id of the given one.
+     *
+     * @return true if the entity has been removed, false if it wasn't stored;
+     */
+    public synchronized boolean remove(Entity e) {
+        Entity removed = entitiesById.remove(e.getId());
+        if (removed == null) return false;
+
+        // The draw priority of the entity is the same it had when it was added
+        buckets[removed.getDrawPriority().ordinal()].remove(removed.getId());
+        changed = true;
+        return true;
+    }
+
+    public synchronized Entity get(long id) {
+        return entitiesById.get(id);
+    }
+
+    public synchronized boolean contains(Entity e) {
+        return entitiesById.containsKey(e.getId());
+    }
+
+    public synchronized int size() {
+        return entitiesById.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return entitiesById.isEmpty();
+    }
+
+    public synchronized void clear() {
+        entitiesById.clear();
+
+        for (Map<Long, Entity> bucket : buckets) {
+            bucket.clear();
+        }
+
+        snapshot = Snapshot.EMPTY;
+        changed = false;
+    }
+
+    /**
+     * Gets the entities in drawing order. The returned list is immutable and isn't affected by later changes
+     * of the store; while the store doesn't change, the same list is returned.
+     *
+     * @return the current snapshot of the entities
+     */
+    public synchronized List<Entity> snapshot() {
+        if (changed) {
+            Entity[] array = new Entity[entitiesById.size()];
+            int i = 0;
+
+            for (Map<Long, Entity> bucket : buckets) {
+                for (Entity e : bucket.values()) {
+                    array[i++] = e;
+                }
+            }
+
+            snapshot = new Snapshot(array);
+            changed = false;
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Immutable list backed by an array, so it can be read by index without allocating any iterator.
+     */
+    private static final class Snapshot extends AbstractList<Entity> implements RandomAccess {
+        private static final Snapshot EMPTY = new Snapshot(new Entity[0]);
+        private final Entity[] entities;
+
+        private Snapshot(Entity[] entities) {
+            this.entities = entities;
+        }
+
+        @Override
+        public Entity get(int index) {
+            return entities[index];
+        }
+
+        @Override
+        public int size() {
+            return entities.length;
+        }
+    }
+}
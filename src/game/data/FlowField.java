@@ -0,0 +1,128 @@
+package game.data;
+
+import game.entity.models.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Distances of all the tiles of the pitch from a target tile, usually the one of the player, with the direction of
+ * the first step of a shortest path toward it, avoiding the tiles occupied by the given layers of the TileOccupancy
+ * (see TileOccupancy.Layer.maskOf). There is a field for each mask of layers, built by a single BFS from the target
+ * when it is first read, and built again only when the target or the version of the layers changes: any number of
+ * enemies read their direction in constant time.
+ * <p>
+ * The tiles blocked by the layers get a direction toward their nearest free neighbour, but the paths don't cross
+ * them, so an entity standing on a blocked tile (e.g. a bomb placed under it) can still leave it.
+ */
+public class FlowField {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int[] COLUMN_STEPS = {-1, 1, 0, 0};
+    private static final int[] ROW_STEPS = {0, 0, -1, 1};
+    private static final byte NO_STEP = -1;
+    private final TileOccupancy occupancy;
+    private final int columns;
+    private final int rows;
+    private final int[] queue;
+    // Fields of each mask of layers, allocated when first read
+    private final int[][] distances = new int[1 << TileOccupancy.Layer.values().length][];
+    private final byte[][] steps = new byte[distances.length][];
+    private final int[] targets = new int[distances.length];
+    private final int[] versions = new int[distances.length];
+
+    public FlowField(TileOccupancy occupancy) {
+        this.occupancy = occupancy;
+        this.columns = occupancy.getColumns();
+        this.rows = occupancy.getRows();
+        this.queue = new int[columns * rows];
+        Arrays.fill(targets, -1);
+    }
+
+    /**
+     * Gets the first step of a shortest path from a tile to the target.
+     *
+     * @param layers the mask of the layers of the tiles that can't be crossed
+     * @return the direction of the step, null if the tile is the target, isn't on the pitch or isn't connected to it;
+     */
+    public synchronized Direction getDirection(int column, int row, int targetColumn, int targetRow, int layers) {
+        if (!occupancy.contains(column, row) || !occupancy.contains(targetColumn, targetRow)) return null;
+
+        byte step = getSteps(layers, index(targetColumn, targetRow))[index(column, row)];
+        return step == NO_STEP ? null : DIRECTIONS[step];
+    }
+
+    /**
+     * Gets the length of a shortest path from a tile to the target.
+     *
+     * @param layers the mask of the layers of the tiles that can't be crossed
+     * @return the number of steps, UNREACHABLE if the tile isn't on the pitch or isn't connected to the target;
+     */
+    public synchronized int getDistance(int column, int row, int targetColumn, int targetRow, int layers) {
+        if (!occupancy.contains(column, row) || !occupancy.contains(targetColumn, targetRow)) return UNREACHABLE;
+
+        getSteps(layers, index(targetColumn, targetRow));
+        return distances[layers][index(column, row)];
+    }
+
+    /**
+     * @return the steps of the field of the mask of layers, built again if the target or the version of the layers
+     * changed;
+     */
+    private byte[] getSteps(int layers, int target) {
+        synchronized (occupancy) {
+            int version = occupancy.getLayersVersion(layers);
+
+            if (steps[layers] == null) {
+                distances[layers] = new int[columns * rows];
+                steps[layers] = new byte[columns * rows];
+            } else if (targets[layers] == target && versions[layers] == version) {
+                return steps[layers];
+            }
+
+            build(layers, target);
+            targets[layers] = target;
+            versions[layers] = version;
+            return steps[layers];
+        }
+    }
+
+    /**
+     * Runs the BFS from the target over the tiles that aren't blocked by the layers.
+     */
+    private void build(int layers, int target) {
+        int[] distance = distances[layers];
+        byte[] step = steps[layers];
+        Arrays.fill(distance, UNREACHABLE);
+        Arrays.fill(step, NO_STEP);
+
+        int head = 0;
+        int tail = 0;
+        distance[target] = 0;
+        queue[tail++] = target;
+
+        while (head < tail) {
+            int tile = queue[head++];
+            int column = tile % columns;
+            int row = tile / columns;
+
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int nextColumn = column + COLUMN_STEPS[d];
+                int nextRow = row + ROW_STEPS[d];
+                if (!occupancy.contains(nextColumn, nextRow)) continue;
+
+                int next = index(nextColumn, nextRow);
+                if (distance[next] != UNREACHABLE) continue;
+
+                // The neighbour reaches this tile with the opposite step
+                distance[next] = distance[tile] + 1;
+                step[next] = (byte) DIRECTIONS[d].opposite().ordinal();
+
+                if (!occupancy.isBlocked(layers, next)) queue[tail++] = next;
+            }
+        }
+    }
+
+    private int index(int column, int row) {
+        return row * columns + column;
+    }
+}
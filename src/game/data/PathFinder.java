@@ -0,0 +1,279 @@
+package game.data;
+
+import game.entity.models.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Finds paths on the tiles of the pitch, avoiding the tiles occupied by the given layers of the TileOccupancy
+ * (see TileOccupancy.Layer.maskOf): A* finds the next step toward a tile, BFS the next step toward the nearest tile
+ * accepted by a filter. The start and the target tiles are never considered blocked.
+ * <p>
+ * The arrays of the searches are allocated once and reused, so a search allocates nothing. The steps of the paths
+ * found by A* are cached for each mask of layers, until the target or the version of the layers changes: every tile
+ * of a path remembers its next step, so enemies chasing the same target mostly reuse the paths of the others.
+ */
+public class PathFinder {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int[] COLUMN_STEPS = {-1, 1, 0, 0};
+    private static final int[] ROW_STEPS = {0, 0, -1, 1};
+    // Values of the cached steps, the other ones are the ordinal of the direction plus one
+    private static final byte UNKNOWN_STEP = 0;
+    private static final byte NO_STEP = -1;
+    private final TileOccupancy occupancy;
+    private final int columns;
+    private final int rows;
+    // State of the searches, valid only for the tiles with the stamp of the current search
+    private final int[] stamps;
+    private final int[] costs;
+    private final int[] parents;
+    private final boolean[] closed;
+    private final long[] heap;
+    private final int[] queue;
+    private int stamp = 0;
+    // Cached steps toward the target of each mask of layers
+    private final byte[][] steps = new byte[1 << TileOccupancy.Layer.values().length][];
+    private final int[] stepsTargets = new int[steps.length];
+    private final int[] stepsVersions = new int[steps.length];
+
+    /**
+     * Filter of the tiles searched by nextStepTowardNearest.
+     */
+    public interface TileFilter {
+        boolean accept(int column, int row);
+    }
+
+    public PathFinder(TileOccupancy occupancy) {
+        this.occupancy = occupancy;
+        this.columns = occupancy.getColumns();
+        this.rows = occupancy.getRows();
+
+        int tiles = columns * rows;
+        this.stamps = new int[tiles];
+        this.costs = new int[tiles];
+        this.parents = new int[tiles];
+        this.closed = new boolean[tiles];
+        // A tile is pushed at most once for each of its neighbours, the start once
+        this.heap = new long[tiles * DIRECTIONS.length + 1];
+        this.queue = new int[tiles];
+        Arrays.fill(stepsTargets, -1);
+    }
+
+    /**
+     * Finds with A* the first step of the shortest path from a tile to another.
+     *
+     * @param layers the mask of the layers of the tiles that can't be crossed
+     * @return the direction of the step, null if the tiles are the same, aren't on the pitch or aren't connected;
+     */
+    public synchronized Direction nextStep(int column, int row, int targetColumn, int targetRow, int layers) {
+        if (!occupancy.contains(column, row) || !occupancy.contains(targetColumn, targetRow)) return null;
+
+        int start = index(column, row);
+        int target = index(targetColumn, targetRow);
+        if (start == target) return null;
+
+        synchronized (occupancy) {
+            byte[] cache = getSteps(layers, target);
+
+            if (cache[start] == UNKNOWN_STEP) {
+                cache[start] = NO_STEP;
+                if (search(start, target, layers)) cachePath(cache, start, target);
+            }
+
+            return cache[start] == NO_STEP ? null : DIRECTIONS[cache[start] - 1];
+        }
+    }
+
+    /**
+     * Finds with BFS the first step of the shortest path from a tile to the nearest tile accepted by the filter.
+     *
+     * @param layers      the mask of the layers of the tiles that can't be crossed
+     * @param maxDistance the max length of the path, in tiles
+     * @return the direction of the step, null if the tile is accepted, isn't on the pitch or no accepted tile is
+     * connected to it within the max distance;
+     */
+    public synchronized Direction nextStepTowardNearest(int column, int row, int layers, int maxDistance, TileFilter filter) {
+        if (!occupancy.contains(column, row) || filter.accept(column, row)) return null;
+
+        int start = index(column, row);
+
+        synchronized (occupancy) {
+            stamp++;
+            visit(start, start, 0);
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+
+            while (head < tail) {
+                int tile = queue[head++];
+                if (costs[tile] >= maxDistance) continue;
+
+                for (int d = 0; d < DIRECTIONS.length; d++) {
+                    int next = neighbour(tile, d);
+                    if (next < 0 || stamps[next] == stamp) continue;
+
+                    int nextColumn = next % columns;
+                    int nextRow = next / columns;
+                    boolean accepted = filter.accept(nextColumn, nextRow);
+                    if (!accepted && occupancy.isBlocked(layers, next)) continue;
+
+                    visit(next, tile, costs[tile] + 1);
+                    if (accepted) return DIRECTIONS[firstStep(start, next)];
+
+                    queue[tail++] = next;
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Runs A* from the start to the target, leaving the path in the parents.
+     *
+     * @return true if the target has been reached;
+     */
+    private boolean search(int start, int target, int layers) {
+        stamp++;
+        int size = 0;
+        visit(start, start, 0);
+        heap[size++] = entry(heuristic(start, target), start);
+
+        while (size > 0) {
+            long top = heap[0];
+            heap[0] = heap[--size];
+            siftDown(size);
+
+            int tile = (int) top;
+            if (closed[tile]) continue;
+            if (tile == target) return true;
+            closed[tile] = true;
+
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int next = neighbour(tile, d);
+                if (next < 0 || (next != target && occupancy.isBlocked(layers, next))) continue;
+
+                int cost = costs[tile] + 1;
+                if (stamps[next] == stamp && (closed[next] || costs[next] <= cost)) continue;
+
+                visit(next, tile, cost);
+                heap[size] = entry(cost + heuristic(next, target), next);
+                siftUp(size++);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Caches the step of every tile of the path found from the start to the target.
+     */
+    private void cachePath(byte[] cache, int start, int target) {
+        int tile = target;
+
+        while (tile != start) {
+            int parent = parents[tile];
+            cache[parent] = (byte) (direction(parent, tile) + 1);
+            tile = parent;
+        }
+    }
+
+    /**
+     * @return the cached steps of the mask of layers, emptied if the target or the version of the layers changed;
+     */
+    private byte[] getSteps(int layers, int target) {
+        int version = occupancy.getLayersVersion(layers);
+        byte[] cache = steps[layers];
+
+        if (cache == null) {
+            cache = steps[layers] = new byte[columns * rows];
+        } else if (stepsTargets[layers] != target || stepsVersions[layers] != version) {
+            Arrays.fill(cache, UNKNOWN_STEP);
+        }
+
+        stepsTargets[layers] = target;
+        stepsVersions[layers] = version;
+        return cache;
+    }
+
+    /**
+     * @return the ordinal of the direction of the first step of the path found from the start to the tile;
+     */
+    private int firstStep(int start, int tile) {
+        while (parents[tile] != start) {
+            tile = parents[tile];
+        }
+
+        return direction(start, tile);
+    }
+
+    private void visit(int tile, int parent, int cost) {
+        stamps[tile] = stamp;
+        costs[tile] = cost;
+        parents[tile] = parent;
+        closed[tile] = false;
+    }
+
+    /**
+     * @return the neighbour of the tile in the direction with the given ordinal, -1 if it isn't on the pitch;
+     */
+    private int neighbour(int tile, int d) {
+        int column = tile % columns + COLUMN_STEPS[d];
+        int row = tile / columns + ROW_STEPS[d];
+        return occupancy.contains(column, row) ? index(column, row) : -1;
+    }
+
+    /**
+     * @return the ordinal of the direction from a tile to its neighbour;
+     */
+    private int direction(int from, int to) {
+        int difference = to - from;
+        if (difference == -1) return Direction.LEFT.ordinal();
+        if (difference == 1) return Direction.RIGHT.ordinal();
+        return difference < 0 ? Direction.UP.ordinal() : Direction.DOWN.ordinal();
+    }
+
+    private int heuristic(int tile, int target) {
+        return Math.abs(tile % columns - target % columns) + Math.abs(tile / columns - target / columns);
+    }
+
+    private int index(int column, int row) {
+        return row * columns + column;
+    }
+
+    // Entries of the heap sorted by the estimated cost of the path, then by tile
+    private static long entry(int estimate, int tile) {
+        return ((long) estimate << 32) | tile;
+    }
+
+    private void siftUp(int i) {
+        long entry = heap[i];
+
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (heap[parent] <= entry) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+
+        heap[i] = entry;
+    }
+
+    private void siftDown(int size) {
+        if (size == 0) return;
+
+        long entry = heap[0];
+        int i = 0;
+
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= entry) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+
+        heap[i] = entry;
+    }
+}
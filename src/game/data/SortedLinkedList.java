@@ -1,135 +0,0 @@
-package game.data;
-
-
-import java.util.Iterator;
-import java.util.LinkedList;
-
-import java.util.*;
-
-public class SortedLinkedList<T extends Comparable<T>> implements List<T> {
-    private final LinkedList<T> list;
-
-    public SortedLinkedList() {
-        this.list = new LinkedList<>();
-    }
-
-    @Override
-    public boolean add(T element) {
-        int index = 0;
-        while (index < list.size() && element.compareTo(list.get(index)) >= 0) {
-            index++;
-        }
-        list.add(index, element);
-        return true;
-    }
-
-    @Override
-    public boolean remove(Object o) {
-        return list.remove(o);
-    }
-
-    @Override
-    public boolean containsAll(Collection<?> c) {
-        return list.containsAll(c);
-    }
-
-    @Override
-    public boolean addAll(Collection<? extends T> c) {
-        return list.addAll(c);
-    }
-
-    @Override
-    public boolean addAll(int index, Collection<? extends T> c) {
-        return list.addAll(index, c);
-    }
-
-    @Override
-    public boolean removeAll(Collection<?> c) {
-        return list.removeAll(c);
-    }
-
-    @Override
-    public boolean retainAll(Collection<?> c) {
-        return list.retainAll(c);
-    }
-
-    @Override
-    public void clear() {
-        list.clear();
-    }
-
-    @Override
-    public T get(int index) {
-        return list.get(index);
-    }
-
-    @Override
-    public T set(int index, T element) {
-        return list.set(index, element);
-    }
-
-    @Override
-    public void add(int index, T element) {
-        list.add(index, element);
-    }
-
-    @Override
-    public T remove(int index) {
-        return list.remove(index);
-    }
-
-    @Override
-    public int indexOf(Object o) {
-        return list.indexOf(o);
-    }
-
-    @Override
-    public int lastIndexOf(Object o) {
-        return list.lastIndexOf(o);
-    }
-
-    @Override
-    public ListIterator<T> listIterator() {
-        return list.listIterator();
-    }
-
-    @Override
-    public ListIterator<T> listIterator(int index) {
-        return list.listIterator(index);
-    }
-
-    @Override
-    public List<T> subList(int fromIndex, int toIndex) {
-        return list.subList(fromIndex, toIndex);
-    }
-
-    @Override
-    public int size() {
-        return list.size();
-    }
-
-    @Override
-    public boolean isEmpty() {
-        return list.isEmpty();
-    }
-
-    @Override
-    public boolean contains(Object o) {
-        return list.contains(o);
-    }
-
-    @Override
-    public Iterator<T> iterator() {
-        return list.iterator();
-    }
-
-    @Override
-    public Object[] toArray() {
-        return list.toArray();
-    }
-
-    @Override
-    public <T1> T1[] toArray(T1[] a) {
-        return list.toArray(a);
-    }
-}
@@ -0,0 +1,280 @@
+package game.data;
+
+import game.entity.blocks.DestroyableBlock;
+import game.entity.blocks.HardBlock;
+import game.entity.bomb.Bomb;
+import game.entity.models.Coordinates;
+import game.entity.models.Entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * Occupancy of the tiles of the pitch, kept up to date by the EntitySpatialHash while entities are spawned, despawned
+ * and moved, so checking whether a tile is occupied doesn't look at its entities.
+ * An entity occupies the tiles it collides with (see Coordinates.doesCollideWithBlock); besides any entity, the tiles
+ * are tracked for each Layer, one bitmap per layer with a bit for each tile.
+ * <p>
+ * The tiles without entities are also kept in a set that can be indexed, so a random free tile is picked in constant
+ * time instead of picking random tiles until a free one is found.
+ * Each layer has a version, changed whenever one of its tiles becomes occupied or free, so what is computed on some
+ * layers (like the paths of the PathFinder) is known to be still valid.
+ */
+public class TileOccupancy {
+    private static final Layer[] LAYERS = Layer.values();
+    private final int columns;
+    private final int rows;
+    // Number of entities on each tile, for any entity and then for each layer
+    private final int[][] counts;
+    // One bit for each tile with at least one entity, for any entity and then for each layer
+    private final long[][] bitmaps;
+    // The free tiles in no particular order, the first freeCount ones, and the position of each tile in it
+    private final int[] freeTiles;
+    private final int[] freePositions;
+    private int freeCount;
+    private final int[] layersVersions = new int[LAYERS.length];
+
+    public enum Layer {
+        SOLID,
+        DESTROYABLE,
+        BOMB;
+
+        /**
+         * @return the mask with only this layer;
+         */
+        public int mask() {
+            return 1 << ordinal();
+        }
+
+        /**
+         * @return the mask of the layers of the entity, one bit for each layer;
+         */
+        static int maskOf(Entity e) {
+            int mask = 0;
+
+            if (e instanceof HardBlock) mask |= SOLID.mask();
+            if (e instanceof DestroyableBlock) mask |= DESTROYABLE.mask();
+            if (e instanceof Bomb) mask |= BOMB.mask();
+
+            return mask;
+        }
+
+        /**
+         * @return the mask of the layers of the entities of the given classes or of their subclasses;
+         */
+        public static int maskOf(Collection<Class<? extends Entity>> classes) {
+            int mask = 0;
+
+            for (Class<? extends Entity> clazz : classes) {
+                if (clazz.isAssignableFrom(HardBlock.class)) mask |= SOLID.mask();
+                if (clazz.isAssignableFrom(DestroyableBlock.class)) mask |= DESTROYABLE.mask();
+                if (clazz.isAssignableFrom(Bomb.class)) mask |= BOMB.mask();
+            }
+
+            return mask;
+        }
+    }
+
+    public TileOccupancy(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+
+        int layers = LAYERS.length + 1;
+        this.counts = new int[layers][columns * rows];
+        this.bitmaps = new long[layers][(columns * rows + 63) / 64];
+        this.freeTiles = new int[columns * rows];
+        this.freePositions = new int[columns * rows];
+        resetFreeTiles();
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return true if the tile is on the pitch;
+     */
+    public boolean contains(int column, int row) {
+        return column >= 0 && column < columns && row >= 0 && row < rows;
+    }
+
+    /**
+     * @return true if at least one entity is on the tile, false also if the tile isn't on the pitch;
+     */
+    public synchronized boolean isOccupied(int column, int row) {
+        return contains(column, row) && isSet(bitmaps[0], index(column, row));
+    }
+
+    /**
+     * @return true if at least one entity of the layer is on the tile, false also if the tile isn't on the pitch;
+     */
+    public synchronized boolean isOccupied(Layer layer, int column, int row) {
+        return contains(column, row) && isSet(bitmaps[layer.ordinal() + 1], index(column, row));
+    }
+
+    /**
+     * @param layers the mask of the layers
+     * @return the version of the layers, changed whenever a tile of one of them becomes occupied or free;
+     */
+    public synchronized int getLayersVersion(int layers) {
+        int version = 0;
+
+        for (Layer layer : LAYERS) {
+            if ((layers & layer.mask()) != 0) version += layersVersions[layer.ordinal()];
+        }
+
+        return version;
+    }
+
+    /**
+     * @return the number of tiles without entities;
+     */
+    public synchronized int getFreeTilesCount() {
+        return freeCount;
+    }
+
+    /**
+     * @return the top left corner of a random tile without entities, null if all the tiles are occupied;
+     */
+    public synchronized Coordinates getRandomFreeTile() {
+        return freeCount == 0 ? null : getTileCoordinates(freeTiles[(int) (Math.random() * freeCount)]);
+    }
+
+    /**
+     * @return the top left corners of all the tiles without entities;
+     */
+    public synchronized List<Coordinates> getFreeTiles() {
+        List<Coordinates> tiles = new ArrayList<>(freeCount);
+
+        for (int i = 0; i < freeCount; i++) {
+            tiles.add(getTileCoordinates(freeTiles[i]));
+        }
+
+        return tiles;
+    }
+
+    /**
+     * Adds an entity with the given hitbox to the tiles it collides with.
+     *
+     * @param layers the mask of the layers of the entity, see Layer.maskOf
+     */
+    synchronized void add(int x, int y, int size, int layers) {
+        update(x, y, size, layers, 1);
+    }
+
+    /**
+     * Removes an entity with the given hitbox from the tiles it collides with, as it was added.
+     */
+    synchronized void remove(int x, int y, int size, int layers) {
+        update(x, y, size, layers, -1);
+    }
+
+    /**
+     * Checks the tile with the given index on the layers of the mask; the caller holds the lock of this object.
+     *
+     * @return true if at least one entity of the layers is on the tile;
+     */
+    boolean isBlocked(int layers, int index) {
+        for (Layer layer : LAYERS) {
+            if ((layers & layer.mask()) != 0 && isSet(bitmaps[layer.ordinal() + 1], index)) return true;
+        }
+
+        return false;
+    }
+
+    synchronized void clear() {
+        for (int i = 0; i < counts.length; i++) {
+            Arrays.fill(counts[i], 0);
+            Arrays.fill(bitmaps[i], 0);
+        }
+
+        resetFreeTiles();
+
+        for (int i = 0; i < layersVersions.length; i++) {
+            layersVersions[i]++;
+        }
+    }
+
+    private void resetFreeTiles() {
+        freeCount = freeTiles.length;
+
+        for (int i = 0; i < freeTiles.length; i++) {
+            freeTiles[i] = i;
+            freePositions[i] = i;
+        }
+    }
+
+    private void update(int x, int y, int size, int layers, int delta) {
+        int firstColumn = Math.max(0, Math.floorDiv(x, GRID_SIZE));
+        int lastColumn = Math.min(columns - 1, Math.floorDiv(x + size - 1, GRID_SIZE));
+        int firstRow = Math.max(0, Math.floorDiv(y, GRID_SIZE));
+        int lastRow = Math.min(rows - 1, Math.floorDiv(y + size - 1, GRID_SIZE));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (!Coordinates.doesCollideWithBlock(column * GRID_SIZE, row * GRID_SIZE, x, y, size)) continue;
+
+                int index = index(column, row);
+                count(0, index, delta);
+
+                for (Layer layer : LAYERS) {
+                    if ((layers & layer.mask()) != 0) count(layer.ordinal() + 1, index, delta);
+                }
+            }
+        }
+    }
+
+    private void count(int bitmap, int index, int delta) {
+        int count = counts[bitmap][index] += delta;
+
+        if (count > 0) {
+            bitmaps[bitmap][index >>> 6] |= 1L << index;
+        } else {
+            bitmaps[bitmap][index >>> 6] &= ~(1L << index);
+        }
+
+        if (count != (delta > 0 ? 1 : 0)) return;
+
+        if (bitmap != 0) {
+            layersVersions[bitmap - 1]++;
+        } else if (delta > 0) {
+            removeFreeTile(index);
+        } else {
+            addFreeTile(index);
+        }
+    }
+
+    private void addFreeTile(int index) {
+        freeTiles[freeCount] = index;
+        freePositions[index] = freeCount++;
+    }
+
+    // The last free tile takes the place of the removed one
+    private void removeFreeTile(int index) {
+        int position = freePositions[index];
+        int last = freeTiles[--freeCount];
+
+        freeTiles[position] = last;
+        freePositions[last] = position;
+    }
+
+    private Coordinates getTileCoordinates(int index) {
+        return new Coordinates(index % columns * GRID_SIZE, index / columns * GRID_SIZE);
+    }
+
+    private int index(int column, int row) {
+        return row * columns + column;
+    }
+
+    private static boolean isSet(long[] bitmap, int index) {
+        return (bitmap[index >>> 6] & (1L << index)) != 0;
+    }
+}
@@ -19,7 +19,6 @@ import game.ui.panels.game.PitchPanel;
 import game.ui.panels.menus.GameOverPanel;
 import game.utils.Paths;
 
-import javax.swing.Timer;
 import java.util.*;
 
 import static game.entity.models.Direction.*;
@@ -76,14 +75,14 @@ public class Player extends BomberEntity {
         super.onSpawn();
         updateBombs();
         Bomberman.getMatch().getControllerManager().register(this);
-        Bomberman.getBombermanFrame().getMatchPanel().refreshPowerUps(getActivePowerUps());
+
+        if (!Bomberman.isHeadless())
+            Bomberman.getBombermanFrame().getMatchPanel().refreshPowerUps(getActivePowerUps());
     }
 
     @Override
     protected void onEndedDeathAnimation() {
-        Timer t = new Timer((int) SHOW_DEATH_PAGE_DELAY_MS, (e) -> showDeathPage());
-        t.setRepeats(false);
-        t.start();
+        Bomberman.getMatch().getScheduler().schedule(this::showDeathPage, SHOW_DEATH_PAGE_DELAY_MS);
     }
 
     private void showDeathPage() {
@@ -5,12 +5,12 @@ import game.entity.bomb.AbstractExplosion;
 import game.entity.bomb.ConfettiExplosion;
 import game.entity.models.Entity;
 import game.entity.models.Coordinates;
+import game.entity.models.EntityFactories;
 import game.powerups.PowerUp;
 import game.powerups.portal.EndLevelPortal;
 import game.utils.Utility;
 
 import java.awt.image.BufferedImage;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -55,14 +55,8 @@ public class DestroyableBlock extends MovableBlock {
         int spawnPercentage = powerUpClass == EndLevelPortal.class ? 100 : POWER_UP_SPAWN_CHANGE;
 
         Utility.runPercentage(spawnPercentage, () -> {
-            PowerUp powerUp;
-            try {
-                powerUp = powerUpClass.getConstructor(Coordinates.class).newInstance(getCoords());
-                powerUp.spawn(true, true);
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                     NoSuchMethodException e) {
-                e.printStackTrace();
-            }
+            PowerUp powerUp = EntityFactories.create(powerUpClass, getCoords());
+            if (powerUp != null) powerUp.spawn(true, true);
         });
     }
 
@@ -73,7 +67,8 @@ public class DestroyableBlock extends MovableBlock {
 
     @Override
     public void onExplosion(AbstractExplosion explosion) {
-        explosion.attack(this);
+        // In a chain of bombs, the block stops the other blasts until the whole chain has been spread
+        if (!Bomberman.getMatch().getDetonationResolver().destroyLater(this, explosion)) explosion.attack(this);
     }
 
     public Class<? extends PowerUp> getPowerUpClass() {
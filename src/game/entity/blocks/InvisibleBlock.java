@@ -18,4 +18,9 @@ public class InvisibleBlock extends HardBlock{
     public BufferedImage getImage() {
         return null;
     }
+
+    @Override
+    public boolean isStaticGeometry() {
+        return true;
+    }
 }
@@ -32,4 +32,8 @@ public class StoneBlock extends HardBlock {
         return loadAndSetImage(Bomberman.getMatch().getCurrentLevel().getStoneBlockImagePath());
     }
 
+    @Override
+    public boolean isStaticGeometry() {
+        return true;
+    }
 }
@@ -1,13 +1,13 @@
 package game.entity.bomb;
 
 import game.Bomberman;
+import game.entity.blocks.DestroyableBlock;
 import game.entity.models.*;
+import game.tasks.GameTask;
 import game.ui.panels.game.PitchPanel;
 import game.values.DrawPriority;
 
 import java.awt.image.BufferedImage;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -22,18 +22,23 @@ public abstract class AbstractExplosion extends MovingEntity {
     public static final int SPAWN_OFFSET = (PitchPanel.GRID_SIZE - SIZE) / 2;
     protected static final int BOMB_STATES = 3;
     public static int MAX_EXPLOSION_LENGTH = 5;
+    // The fields below aren't final since the pooled explosions are set up again when reused (see init)
     // The distance from the bomb where the explosion was created.
-    protected final int distanceFromExplosive;
+    protected int distanceFromExplosive;
     // The maximum distance from the bomb that the explosion can travel.
-    protected final int maxDistance;
+    protected int maxDistance;
     // The direction of the explosion.
-    protected final Direction direction;
-    private final Explosive explosive;
-    private final Entity owner;
+    protected Direction direction;
+    private Explosive explosive;
+    private Entity owner;
     protected boolean canExpand;
-    protected boolean appearing = true;
-    protected int explosionState = 1;
-    protected long lastRefresh = 0;
+    // The state is advanced by the game thread and read by the rendering (see getState)
+    protected volatile boolean appearing = true;
+    protected volatile int explosionState = 1;
+    // Advances the state of the explosion while it is spawned
+    private GameTask stateTask = null;
+    // The blocks around the arm, only while the ExplosionEngine is spreading it
+    private ExplosionEngine.Area area = null;
 
     public AbstractExplosion(Entity owner,
                              Coordinates coordinates,
@@ -58,7 +63,27 @@ public abstract class AbstractExplosion extends MovingEntity {
                              boolean canExpand
     ) {
         super(coordinates);
+        setUp(owner, direction, distanceFromExplosive, explosive, canExpand);
+    }
+
+    /**
+     * Sets up an explosion taken from its pool like a new one, see the constructors.
+     */
+    protected final void init(Entity owner,
+                              Coordinates coordinates,
+                              Direction direction,
+                              int distanceFromExplosive,
+                              Explosive explosive,
+                              boolean canExpand
+    ) {
+        reset(coordinates);
+        appearing = true;
+        explosionState = 1;
+        area = null;
+        setUp(owner, direction, distanceFromExplosive, explosive, canExpand);
+    }
 
+    private void setUp(Entity owner, Direction direction, int distanceFromExplosive, Explosive explosive, boolean canExpand) {
         this.owner = owner;
         this.direction = direction;
         this.distanceFromExplosive = distanceFromExplosive;
@@ -69,18 +94,22 @@ public abstract class AbstractExplosion extends MovingEntity {
         //on first (center) explosion
         if (distanceFromExplosive == 0) {
             List<Coordinates> desiredCoords = getAllCoordinates();
-            Bomberman.getMatch().getEntities()
-                    .parallelStream()
-                    .filter(e -> desiredCoords.stream().anyMatch(coord -> Coordinates.doesCollideWith(coord, e)))
-                    .forEach(this::interact);
+            Coordinates.getEntitiesOnCoordinates(desiredCoords).forEach(this::interact);
         }
 
         if (getCanExpand())
-            expandBomb(direction, getSize());
+            ExplosionEngine.spread(this);
     }
 
+    /**
+     * Creates the segments of an explosion, usually the constructor of its class.
+     */
+    @FunctionalInterface
+    public interface Factory {
+        AbstractExplosion create(Entity owner, Coordinates coordinates, Direction direction, int distanceFromExplosive, Explosive explosive, boolean canExpand);
+    }
 
-    protected abstract Class<? extends AbstractExplosion> getExplosionClass();
+    protected abstract Factory getExplosionFactory();
 
     @Override
     public DrawPriority getDrawPriority() {
@@ -94,7 +123,15 @@ public abstract class AbstractExplosion extends MovingEntity {
      */
     @Override
     protected void doInteract(Entity e) {
+        DetonationResolver resolver = Bomberman.getMatch().getDetonationResolver();
+        if (!resolver.hit(e)) {
+            return;
+        }
+
         e.onExplosion(this);
+
+        // The interaction may have changed the blocks ahead, unless it has only queued a bomb or a block of the chain
+        if (area != null && !((e instanceof Bomb || e instanceof DestroyableBlock) && resolver.isResolving())) area.invalidate();
     }
 
     /**
@@ -108,34 +145,60 @@ public abstract class AbstractExplosion extends MovingEntity {
     }
 
     /**
-     * Sets the coordinates of the explosion and creates new explosions based on its distance from the bomb.
-     *
-     * @param coordinates The new coordinates of the explosion.
+     * An explosion doesn't move: the ExplosionEngine creates the next segment instead.
      */
     @Override
-    public void move(Coordinates coordinates) {
-        Coordinates nextTopLeftCoords = Coordinates.nextCoords(getCoords(), direction, getSize());
+    protected void move(int x, int y) {
+    }
+
+    /**
+     * Checks the next step of the arm, like a moving entity would, interacting with what is in the way.
+     *
+     * @param area the blocks around the arm, shared by all its segments
+     * @return true if the arm can go on, false if an obstacle stops it
+     */
+    boolean expand(ExplosionEngine.Area area) {
+        this.area = area;
 
         try {
-            Constructor<? extends AbstractExplosion> constructor = getExplosionClass().getConstructor(
-                    Entity.class,
-                    Coordinates.class,
-                    Direction.class,
-                    int.class,
-                    Explosive.class
-            );
-
-            constructor.newInstance(
-                    owner,
-                    nextTopLeftCoords,
-                    direction,
-                    distanceFromExplosive + 1,
-                    getExplosive()
-            ).explode();
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            e.printStackTrace();
+            return moveOrInteract(direction, getSize(), true);
+        } finally {
+            this.area = null;
+        }
+    }
+
+    @Override
+    protected boolean isBlockFree(int blockX, int blockY) {
+        if (area == null) {
+            return super.isBlockFree(blockX, blockY);
         }
+
+        if (!area.isValid()) {
+            area.build(this, this::isInTheWay);
+        }
+
+        return area.contains(blockX, blockY) ? !area.isBlocked(blockX, blockY) : super.isBlockFree(blockX, blockY);
+    }
+
+    /**
+     * Creates the segment following this one, without spreading it.
+     *
+     * @param canExpand false if the segment is the last one of the arm
+     * @return the new segment
+     */
+    AbstractExplosion createNextSegment(boolean canExpand) {
+        long next = PackedCoordinates.nextCoords(getPosition(), direction, getSize());
+        AbstractExplosion segment = getExplosionFactory().create(
+                owner,
+                PackedCoordinates.toCoordinates(next),
+                direction,
+                distanceFromExplosive + 1,
+                explosive,
+                false
+        );
+
+        segment.canExpand = canExpand;
+        return segment;
     }
 
     @Override
@@ -149,18 +212,24 @@ public abstract class AbstractExplosion extends MovingEntity {
     }
 
     @Override
-    public boolean isObstacle(Entity e) {
-        return (e == null) || getExplosive().isObstacleOfExplosion(e);
+    public Set<Class<? extends Entity>> getObstacles() {
+        return getExplosive().getExplosionObstacles();
     }
 
     @Override
-    public Set<Class<? extends Entity>> getObstacles() {
-        return new HashSet<>(getExplosive().getExplosionObstacles());
+    public Set<Class<? extends Entity>> getInteractionsEntities() {
+        return getExplosive().getExplosionInteractionEntities();
     }
 
+    // The obstacles and the interactions of an explosion are the ones of its explosive, not of its class
     @Override
-    public Set<Class<? extends Entity>> getInteractionsEntities() {
-        return new HashSet<>(getExplosive().getExplosionInteractionEntities());
+    protected TypeMask getObstaclesMask() {
+        return getExplosive().getExplosionObstaclesMask();
+    }
+
+    @Override
+    protected TypeMask getInteractionsMask() {
+        return getExplosive().getExplosionInteractionsMask();
     }
 
     @Override
@@ -188,31 +257,6 @@ public abstract class AbstractExplosion extends MovingEntity {
         return false;
     }
 
-    public void onObstacle(Coordinates coordinates) {
-        try {
-            Constructor<? extends AbstractExplosion> constructor = getExplosionClass().getConstructor(
-                    Entity.class,
-                    Coordinates.class,
-                    Direction.class,
-                    int.class,
-                    Explosive.class,
-                    boolean.class
-            );
-
-            constructor.newInstance(
-                    owner,
-                    coordinates,
-                    direction,
-                    distanceFromExplosive + 1,
-                    explosive,
-                    false
-            ).explode();
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            e.printStackTrace();
-        }
-    }
-
     public Explosive getExplosive() {
         return explosive;
     }
@@ -221,31 +265,60 @@ public abstract class AbstractExplosion extends MovingEntity {
         return owner;
     }
 
+    /**
+     * @return the current state of the explosion, shown by its image;
+     */
     public int getState() {
-        if (explosionState == 0 && !appearing) {
-            despawn();
-            appearing = true;
-            return 0;
-        }
+        return explosionState;
+    }
+
+    /**
+     * Moves the explosion to its next state: it grows up to BOMB_STATES, then fades back to 0.
+     *
+     * @return true if the explosion has ended and has to be despawned;
+     */
+    private boolean advanceState() {
+        if (explosionState == 0 && !appearing) return true;
 
         if (explosionState == BOMB_STATES)
             appearing = false;
 
-        int appearingConstant = !appearing ? -1 : 1;
-
-        int prevState = explosionState;
-        long currentTime = System.currentTimeMillis();
-
-        if (currentTime - lastRefresh >= getImageRefreshRate()) {
-            explosionState += appearingConstant;
-            lastRefresh = currentTime;
-        }
+        explosionState += appearing ? 1 : -1;
+        return false;
+    }
 
-        return prevState;
+    /**
+     * Starts advancing the state of the explosion on the game thread, every getImageRefreshRate() ms of game time,
+     * until it ends and is despawned, so explosions expire even when nothing draws them, e.g. in headless matches.
+     */
+    @Override
+    protected void onSpawn() {
+        super.onSpawn();
+
+        int generation = getGeneration();
+        stateTask = Bomberman.getMatch().getScheduler().schedule(new GameTask() {
+            @Override
+            public void run() {
+                // A pooled explosion may have been despawned and reused in the meantime
+                if (generation != getGeneration() || !isSpawned()) {
+                    cancel();
+                    return;
+                }
+
+                if (advanceState()) {
+                    cancel();
+                    despawn();
+                }
+            }
+        }, getImageRefreshRate(), getImageRefreshRate());
     }
 
-    private void expandBomb(Direction d, int stepSize) {
-        moveOrInteract(d, stepSize, true);
+    @Override
+    protected void onDespawn() {
+        super.onDespawn();
+
+        if (stateTask != null) stateTask.cancel();
+        stateTask = null;
     }
 
     public void explode() {
@@ -13,7 +13,6 @@ import game.sound.AudioManager;
 import game.sound.SoundModel;
 import game.utils.Paths;
 import game.ui.panels.game.PitchPanel;
-import game.utils.Utility;
 
 import java.awt.image.BufferedImage;
 import java.util.*;
@@ -45,7 +44,7 @@ public class Bomb extends MovableBlock implements Explosive {
             images[i] = String.format("%sbomb_%d.png", getBasePath(), i);
         }
 
-        if (Utility.timePassed(lastImageUpdate) < getImageRefreshRate()) {
+        if (Bomberman.getMatch().getClock().timePassed(lastImageUpdate) < getImageRefreshRate()) {
             return this.image;
         }
 
@@ -74,7 +73,15 @@ public class Bomb extends MovableBlock implements Explosive {
     protected void doInteract(Entity e) {
     }
 
+    /**
+     * Explodes the bomb; if a chain of bombs is exploding, the bomb will explode after the ones before it.
+     */
     public void explode() {
+        Bomberman.getMatch().getDetonationResolver().detonate(this);
+    }
+
+    // Called by the DetonationResolver when it's the turn of this bomb
+    void detonate() {
         if (!isSpawned()) {
             return;
         }
@@ -83,23 +90,23 @@ public class Bomb extends MovableBlock implements Explosive {
 
         AudioManager.getInstance().play(SoundModel.EXPLOSION);
 
-        new FireExplosion(caller, getCoords(), Direction.UP, this).explode();
-        new FireExplosion(caller, getCoords(), Direction.RIGHT, this).explode();
-        new FireExplosion(caller, getCoords(), Direction.DOWN, this).explode();
-        new FireExplosion(caller, getCoords(), Direction.LEFT, this).explode();
+        FireExplosion.acquire(caller, getCoords(), Direction.UP, this).explode();
+        FireExplosion.acquire(caller, getCoords(), Direction.RIGHT, this).explode();
+        FireExplosion.acquire(caller, getCoords(), Direction.DOWN, this).explode();
+        FireExplosion.acquire(caller, getCoords(), Direction.LEFT, this).explode();
 
         if (onExplodeCallback != null) onExplodeCallback.run();
     }
 
     public void trigger() {
-        TimerTask explodeTask = new TimerTask() {
-            public void run() {
-                explode();
-            }
-        };
-
-        Timer timer = new Timer();
-        timer.schedule(explodeTask, EXPLODE_TIMER);
+        Bomberman.getMatch().getDangerMap().add(this, Bomberman.getMatch().getClock().millis() + EXPLODE_TIMER);
+        Bomberman.getMatch().getScheduler().schedule(this::explode, EXPLODE_TIMER);
+    }
+
+    @Override
+    protected void onDespawn() {
+        super.onDespawn();
+        Bomberman.getMatch().getDangerMap().remove(this);
     }
 
 
@@ -3,10 +3,13 @@ package game.entity.bomb;
 import game.entity.models.Coordinates;
 import game.entity.models.Direction;
 import game.entity.models.Entity;
+import game.entity.models.EntityPool;
 import game.entity.models.Explosive;
 import game.utils.Paths;
 
 public class ConfettiExplosion extends AbstractExplosion {
+    private static final EntityPool<ConfettiExplosion> POOL = new EntityPool<>(ConfettiExplosion.class, 64);
+
     public ConfettiExplosion(
             Entity owner,
             Coordinates coordinates,
@@ -34,9 +37,42 @@ public class ConfettiExplosion extends AbstractExplosion {
         super(owner, coordinates, direction, distanceFromExplosive, explosive, canExpand);
     }
 
+    /**
+     * @return a ConfettiExplosion from the pool set up like a new one, or a new one if the pool is empty;
+     */
+    public static ConfettiExplosion acquire(
+            Entity owner,
+            Coordinates coordinates,
+            Direction direction,
+            Explosive explosive) {
+        return acquire(owner, coordinates, direction, 0, explosive, true);
+    }
+
+    /**
+     * @return a ConfettiExplosion from the pool set up like a new one, or a new one if the pool is empty;
+     */
+    public static ConfettiExplosion acquire(
+            Entity owner,
+            Coordinates coordinates,
+            Direction direction,
+            int distanceFromExplosive,
+            Explosive explosive,
+            boolean canExpand) {
+        ConfettiExplosion explosion = POOL.acquire();
+        if (explosion == null) return new ConfettiExplosion(owner, coordinates, direction, distanceFromExplosive, explosive, canExpand);
+
+        explosion.init(owner, coordinates, direction, distanceFromExplosive, explosive, canExpand);
+        return explosion;
+    }
+
+    @Override
+    protected EntityPool<?> getPool() {
+        return POOL;
+    }
+
     @Override
-    protected Class<? extends AbstractExplosion> getExplosionClass() {
-        return getClass();
+    protected Factory getExplosionFactory() {
+        return ConfettiExplosion::acquire;
     }
 
     @Override
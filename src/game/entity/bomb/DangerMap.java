@@ -0,0 +1,269 @@
+package game.entity.bomb;
+
+import game.data.TileOccupancy;
+import game.entity.models.Direction;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * For each tile of the pitch, the earliest time of the clock of the match at which the explosion of an armed bomb
+ * will cover it, so the AI knows where not to go without simulating the explosions.
+ * <p>
+ * The blast of a bomb is the tiles its arms reach with its explosion length, from its tile up to the first block
+ * in the way, included since the last segment of an arm is on it (see ExplosionEngine). A bomb in the blast of
+ * another one explodes with it, if that comes first. The map is updated when a bomb is armed or removed, and built
+ * again only when the blocks which stop the explosions change, before being read.
+ * <p>
+ * The map is guarded by the lock of the TileOccupancy, so it can be read by the filters of the PathFinder searches.
+ */
+public class DangerMap {
+    public static final long SAFE = Long.MAX_VALUE;
+    private static final int FLAME_LAYERS = TileOccupancy.Layer.SOLID.mask() | TileOccupancy.Layer.DESTROYABLE.mask();
+    private final TileOccupancy occupancy;
+    private final int columns;
+    private final int rows;
+    private final long[] dangerTimes;
+    private final Map<Bomb, Blast> blasts = new LinkedHashMap<>();
+    private final Queue<Blast> chain = new ArrayDeque<>();
+    // Version of the layers of the blocks the blasts have been computed with
+    private int version;
+
+    /**
+     * The tiles covered by the explosion of a bomb and the time it explodes at.
+     */
+    private static final class Blast {
+        private final Bomb bomb;
+        private final long timer;
+        private final int tile;
+        private final int[] tiles;
+        private int tilesCount = 0;
+        private int length = 0;
+        private long time;
+
+        private Blast(Bomb bomb, long timer, int tile, int maxTiles) {
+            this.bomb = bomb;
+            this.timer = timer;
+            this.tile = tile;
+            this.tiles = new int[maxTiles];
+            this.time = timer;
+        }
+
+        private boolean covers(int tile) {
+            for (int i = 0; i < tilesCount; i++) {
+                if (tiles[i] == tile) return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * @return true if the arms of this blast reach the other bomb: its tile is covered and the flames overlap it;
+         */
+        private boolean reaches(Blast other) {
+            if (!covers(other.tile)) return false;
+
+            int x = bomb.getX();
+            int y = bomb.getY();
+            int size = AbstractExplosion.SIZE;
+            int otherX = other.bomb.getX();
+            int otherY = other.bomb.getY();
+            int otherSize = other.bomb.getSize();
+
+            return overlaps(x - size * length, y, x + size * (length + 1) - 1, y + size - 1, otherX, otherY, otherSize)
+                    || overlaps(x, y - size * length, x + size - 1, y + size * (length + 1) - 1, otherX, otherY, otherSize);
+        }
+
+        private static boolean overlaps(int left, int top, int right, int bottom, int x, int y, int size) {
+            return left <= x + size - 1 && x <= right && top <= y + size - 1 && y <= bottom;
+        }
+    }
+
+    public DangerMap(TileOccupancy occupancy) {
+        this.occupancy = occupancy;
+        this.columns = occupancy.getColumns();
+        this.rows = occupancy.getRows();
+        this.dangerTimes = new long[columns * rows];
+        this.version = occupancy.getLayersVersion(FLAME_LAYERS);
+        Arrays.fill(dangerTimes, SAFE);
+    }
+
+    /**
+     * Adds a bomb that has been armed.
+     *
+     * @param bomb the bomb
+     * @param time the time of the clock of the match at which the bomb explodes
+     */
+    public void add(Bomb bomb, long time) {
+        synchronized (occupancy) {
+            refresh();
+
+            int column = Math.floorDiv(bomb.getX() + bomb.getSize() / 2, GRID_SIZE);
+            int row = Math.floorDiv(bomb.getY() + bomb.getSize() / 2, GRID_SIZE);
+            if (!occupancy.contains(column, row) || blasts.containsKey(bomb)) return;
+
+            Blast blast = new Blast(bomb, time, index(column, row), 2 * (columns + rows));
+            computeTiles(blast);
+
+            // The bomb explodes when the first blast covering it does
+            for (Blast other : blasts.values()) {
+                if (other.reaches(blast)) blast.time = Math.min(blast.time, other.time);
+            }
+
+            blasts.put(bomb, blast);
+            spread(blast);
+        }
+    }
+
+    /**
+     * Removes a bomb that has exploded or has been removed from the pitch, with its blast.
+     * The bombs chained to it still explode at the time they got from it.
+     */
+    public void remove(Bomb bomb) {
+        synchronized (occupancy) {
+            if (blasts.remove(bomb) == null) return;
+
+            Arrays.fill(dangerTimes, SAFE);
+            for (Blast blast : blasts.values()) {
+                mark(blast);
+            }
+        }
+    }
+
+    /**
+     * @return the earliest time an explosion covers the tile, SAFE if none does or the tile isn't on the pitch;
+     */
+    public long getDangerTime(int column, int row) {
+        synchronized (occupancy) {
+            if (!occupancy.contains(column, row)) return SAFE;
+
+            refresh();
+            return dangerTimes[index(column, row)];
+        }
+    }
+
+    /**
+     * @return true if an explosion is going to cover the tile;
+     */
+    public boolean isDangerous(int column, int row) {
+        return getDangerTime(column, row) != SAFE;
+    }
+
+    /**
+     * @return true if an explosion is going to cover the tile next to the given one in the direction;
+     */
+    public boolean isDangerous(int column, int row, Direction d) {
+        switch (d) {
+            case LEFT:
+                return isDangerous(column - 1, row);
+            case RIGHT:
+                return isDangerous(column + 1, row);
+            case UP:
+                return isDangerous(column, row - 1);
+            case DOWN:
+                return isDangerous(column, row + 1);
+        }
+
+        return false;
+    }
+
+    public void clear() {
+        synchronized (occupancy) {
+            blasts.clear();
+            Arrays.fill(dangerTimes, SAFE);
+        }
+    }
+
+    /**
+     * Builds the map again if the blocks which stop the explosions changed since it was built.
+     */
+    private void refresh() {
+        int currentVersion = occupancy.getLayersVersion(FLAME_LAYERS);
+        if (currentVersion == version) return;
+
+        version = currentVersion;
+        Arrays.fill(dangerTimes, SAFE);
+
+        for (Blast blast : blasts.values()) {
+            blast.time = blast.timer;
+            computeTiles(blast);
+        }
+
+        for (Blast blast : blasts.values()) {
+            spread(blast);
+        }
+    }
+
+    /**
+     * Marks the tiles of the blast, then brings forward the bombs it covers, and the ones covered by them.
+     */
+    private void spread(Blast first) {
+        chain.add(first);
+
+        while (!chain.isEmpty()) {
+            Blast blast = chain.poll();
+            mark(blast);
+
+            for (Blast other : blasts.values()) {
+                if (other.time > blast.time && blast.reaches(other)) {
+                    other.time = blast.time;
+                    chain.add(other);
+                }
+            }
+        }
+    }
+
+    private void mark(Blast blast) {
+        for (int i = 0; i < blast.tilesCount; i++) {
+            int tile = blast.tiles[i];
+            dangerTimes[tile] = Math.min(dangerTimes[tile], blast.time);
+        }
+    }
+
+    /**
+     * Computes the tiles covered by the arms of the blast, with the current explosion length of its bomb.
+     */
+    private void computeTiles(Blast blast) {
+        Bomb bomb = blast.bomb;
+        int column = blast.tile % columns;
+        int row = blast.tile / columns;
+        int length = blast.length = bomb.getMaxExplosionDistance();
+
+        blast.tilesCount = 0;
+        blast.tiles[blast.tilesCount++] = blast.tile;
+
+        // The arms are made of segments of the size of the explosion, starting from the bomb
+        int right = Math.floorDiv(bomb.getX() + AbstractExplosion.SIZE * (length + 1) - 1, GRID_SIZE) - column;
+        int left = column - Math.floorDiv(bomb.getX() - AbstractExplosion.SIZE * length, GRID_SIZE);
+        int down = Math.floorDiv(bomb.getY() + AbstractExplosion.SIZE * (length + 1) - 1, GRID_SIZE) - row;
+        int up = row - Math.floorDiv(bomb.getY() - AbstractExplosion.SIZE * length, GRID_SIZE);
+
+        addArm(blast, column, row, -1, 0, left);
+        addArm(blast, column, row, 1, 0, right);
+        addArm(blast, column, row, 0, -1, up);
+        addArm(blast, column, row, 0, 1, down);
+    }
+
+    private void addArm(Blast blast, int column, int row, int columnStep, int rowStep, int reach) {
+        for (int i = 1; i <= reach; i++) {
+            int armColumn = column + columnStep * i;
+            int armRow = row + rowStep * i;
+
+            if (!occupancy.contains(armColumn, armRow)) return;
+
+            blast.tiles[blast.tilesCount++] = index(armColumn, armRow);
+
+            if (occupancy.isOccupied(TileOccupancy.Layer.SOLID, armColumn, armRow)
+                    || occupancy.isOccupied(TileOccupancy.Layer.DESTROYABLE, armColumn, armRow)) return;
+        }
+    }
+
+    private int index(int column, int row) {
+        return row * columns + column;
+    }
+}
@@ -0,0 +1,94 @@
+package game.entity.bomb;
+
+import game.entity.blocks.DestroyableBlock;
+import game.entity.models.Entity;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Resolves the chain reactions of the bombs of a match in a single pass: a bomb reached by an explosion while another
+ * one is exploding is queued instead of exploding inside the explosion, and the queue is emptied one bomb after the
+ * other by the detonation that started the chain. The entities are hit once for the whole chain, since being hit
+ * again in the same moment would have no effect anyway.
+ * <p>
+ * The destroyable blocks hit by the chain are destroyed once all of its blasts have been spread, so every blast is
+ * spread against the blocks as they stood when the chain started, whatever the order of the bombs in the queue.
+ */
+public class DetonationResolver {
+    private final Queue<Bomb> queue = new ArrayDeque<>();
+    private final Set<Bomb> queued = new HashSet<>();
+    private final Set<Entity> hitEntities = new HashSet<>();
+    // The blocks to destroy at the end of the chain, with the explosion which has hit each one
+    private final Map<DestroyableBlock, AbstractExplosion> destroyedBlocks = new LinkedHashMap<>();
+    private boolean resolving = false;
+
+    /**
+     * Explodes the bomb and every bomb reached by the chain it starts, or queues it if a chain is being resolved.
+     *
+     * @param bomb the bomb to explode
+     */
+    public synchronized void detonate(Bomb bomb) {
+        if (!bomb.isSpawned() || !queued.add(bomb)) {
+            return;
+        }
+
+        queue.add(bomb);
+
+        if (resolving) {
+            return;
+        }
+
+        resolving = true;
+
+        try {
+            Bomb next;
+            while ((next = queue.poll()) != null) {
+                next.detonate();
+            }
+
+            destroyedBlocks.forEach((block, explosion) -> explosion.attack(block));
+        } finally {
+            queue.clear();
+            queued.clear();
+            hitEntities.clear();
+            destroyedBlocks.clear();
+            resolving = false;
+        }
+    }
+
+    /**
+     * Destroys the block hit by the explosion once the chain being resolved has been spread, see detonate.
+     *
+     * @param block     the block hit
+     * @param explosion the explosion hitting it
+     * @return false if no chain is being resolved, so the block has to be destroyed by the caller
+     */
+    public synchronized boolean destroyLater(DestroyableBlock block, AbstractExplosion explosion) {
+        if (!resolving) return false;
+
+        destroyedBlocks.putIfAbsent(block, explosion);
+        return true;
+    }
+
+    /**
+     * Records that an explosion is hitting the entity.
+     *
+     * @param e the entity hit
+     * @return false if the entity has already been hit by the chain being resolved, true otherwise
+     */
+    public synchronized boolean hit(Entity e) {
+        return !resolving || hitEntities.add(e);
+    }
+
+    /**
+     * @return true if a chain of bombs is being resolved;
+     */
+    public synchronized boolean isResolving() {
+        return resolving;
+    }
+}
@@ -0,0 +1,157 @@
+package game.entity.bomb;
+
+import game.Bomberman;
+import game.entity.models.Coordinates;
+import game.entity.models.Direction;
+import game.entity.models.Entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * Spreads the arms of the explosions in a loop: every segment checks the next step like a moving entity would
+ * (see EntityInteractable.moveOrInteract), interacting with what is in the way, and the next segment is created
+ * by the factory of the explosion, until an obstacle or the max distance of the explosive is reached.
+ * <p>
+ * The blocks around an arm are looked up once for the whole arm, in a single query of the spatial hash, instead of
+ * once for each block ahead of each segment; they are looked up again only after the explosion has interacted with
+ * something, since the interaction may have changed them.
+ * <p>
+ * The arms aren't computed from the TileOccupancy grid: a segment is two thirds of a tile and steps by its own size,
+ * so the area ahead of it straddles tiles, and the entities it meets are found by their hitboxes on sampled points
+ * (see Entity.hasEntitiesOnNewCoordinates). The grid only counts entities per tile and per layer, while the
+ * obstacles and the interactions of an explosive are any classes, and every interaction may change what is further
+ * along the arm. Extents taken from the grid would stop or hit differently, so each step is still checked like
+ * before, against the blocks of the arm gathered once.
+ */
+public final class ExplosionEngine {
+    // Private constructor to prevent direct instantiation
+    private ExplosionEngine() {
+    }
+
+    /**
+     * Spreads the arm starting from the given segment, which is spawned by its creator.
+     *
+     * @param first the first segment of the arm
+     */
+    static void spread(AbstractExplosion first) {
+        List<AbstractExplosion> segments = new ArrayList<>();
+        Area area = new Area();
+        AbstractExplosion current = first;
+
+        while (current.getCanExpand()) {
+            boolean canGoOn = current.expand(area);
+
+            // The segment on an obstacle is the last one
+            current = current.createNextSegment(canGoOn);
+            segments.add(current);
+
+            if (!canGoOn) break;
+        }
+
+        // The farthest segments are spawned first, as they always have been
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            segments.get(i).explode();
+        }
+    }
+
+    /**
+     * The blocks around an arm, from a segment to the end of the area checked ahead of the last one, with the blocks
+     * where an entity is in the way of the explosion marked as blocked.
+     */
+    static final class Area {
+        // Reused by the lookups, which never run inside each other; one for each exploding thread
+        private static final ThreadLocal<List<Entity>> entities = ThreadLocal.withInitial(ArrayList::new);
+        private boolean[] blocked = new boolean[0];
+        private boolean valid = false;
+        private int left;
+        private int top;
+        private int columns;
+        private int rows;
+
+        boolean isValid() {
+            return valid;
+        }
+
+        void invalidate() {
+            valid = false;
+        }
+
+        /**
+         * Looks up the blocks around the arm, starting from the given segment.
+         *
+         * @param segment   the segment the arm goes on from
+         * @param isInTheWay checks if an entity is in the way of the explosion
+         */
+        void build(AbstractExplosion segment, Predicate<Entity> isInTheWay) {
+            int x = segment.getX();
+            int y = segment.getY();
+            int size = segment.getSize();
+            int length = (segment.maxDistance - segment.distanceFromExplosive) * size;
+            // Depth of the area checked ahead of every segment, plus a block
+            int margin = GRID_SIZE * size + GRID_SIZE;
+            Direction d = segment.direction;
+            boolean horizontal = d == Direction.LEFT || d == Direction.RIGHT;
+
+            // Across the arm, the area covers the segment itself (see EntityInteractable.isAreaFree)
+            int minX = horizontal ? x - length - margin : x - 1;
+            int maxX = horizontal ? x + size + length + margin : x + size - 1;
+            int minY = horizontal ? y : y - length - margin;
+            int maxY = horizontal ? y + size - 1 : y + size + length + margin;
+
+            left = Math.floorDiv(minX, GRID_SIZE) * GRID_SIZE;
+            top = Math.floorDiv(minY, GRID_SIZE) * GRID_SIZE;
+            columns = Math.floorDiv(maxX, GRID_SIZE) - left / GRID_SIZE + 1;
+            rows = Math.floorDiv(maxY, GRID_SIZE) - top / GRID_SIZE + 1;
+
+            if (blocked.length < columns * rows) {
+                blocked = new boolean[columns * rows];
+            } else {
+                Arrays.fill(blocked, false);
+            }
+
+            List<Entity> found = entities.get();
+            Bomberman.getMatch().getSpatialHash().collectEntitiesInArea(left, top, columns * GRID_SIZE, rows * GRID_SIZE, found);
+
+            try {
+                for (int i = 0; i < found.size(); i++) {
+                    Entity e = found.get(i);
+                    if (isInTheWay.test(e)) mark(e);
+                }
+            } finally {
+                found.clear();
+            }
+
+            valid = true;
+        }
+
+        // Marks the blocks of the area the entity collides with
+        private void mark(Entity e) {
+            int firstColumn = Math.max(0, Math.floorDiv(e.getX() - left, GRID_SIZE));
+            int lastColumn = Math.min(columns - 1, Math.floorDiv(e.getX() + e.getSize() - 1 - left, GRID_SIZE));
+            int firstRow = Math.max(0, Math.floorDiv(e.getY() - top, GRID_SIZE));
+            int lastRow = Math.min(rows - 1, Math.floorDiv(e.getY() + e.getSize() - 1 - top, GRID_SIZE));
+
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int column = firstColumn; column <= lastColumn; column++) {
+                    int blockX = left + column * GRID_SIZE;
+                    int blockY = top + row * GRID_SIZE;
+
+                    if (Coordinates.doesCollideWithBlock(blockX, blockY, e)) blocked[row * columns + column] = true;
+                }
+            }
+        }
+
+        boolean contains(int blockX, int blockY) {
+            return blockX >= left && blockX < left + columns * GRID_SIZE && blockY >= top && blockY < top + rows * GRID_SIZE;
+        }
+
+        boolean isBlocked(int blockX, int blockY) {
+            return blocked[(blockY - top) / GRID_SIZE * columns + (blockX - left) / GRID_SIZE];
+        }
+    }
+}
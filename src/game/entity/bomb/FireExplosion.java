@@ -3,6 +3,7 @@ package game.entity.bomb;
 import game.entity.models.Coordinates;
 import game.entity.models.Direction;
 import game.entity.models.Entity;
+import game.entity.models.EntityPool;
 import game.entity.models.Explosive;
 import game.utils.Paths;
 
@@ -11,6 +12,9 @@ import java.awt.image.BufferedImage;
 import static game.utils.Utility.loadImage;
 
 public class FireExplosion extends AbstractExplosion {
+    // Every bomb spreads up to four arms of segments, and the bombs often explode in chains
+    private static final EntityPool<FireExplosion> POOL = new EntityPool<>(FireExplosion.class, 256);
+
     public FireExplosion(
             Entity owner,
             Coordinates coordinates,
@@ -38,13 +42,46 @@ public class FireExplosion extends AbstractExplosion {
         super(owner, coordinates, direction, distanceFromExplosive, explosive, canExpand);
     }
 
+    /**
+     * @return a FireExplosion from the pool set up like a new one, or a new one if the pool is empty;
+     */
+    public static FireExplosion acquire(
+            Entity owner,
+            Coordinates coordinates,
+            Direction direction,
+            Explosive explosive) {
+        return acquire(owner, coordinates, direction, 0, explosive, true);
+    }
+
+    /**
+     * @return a FireExplosion from the pool set up like a new one, or a new one if the pool is empty;
+     */
+    public static FireExplosion acquire(
+            Entity owner,
+            Coordinates coordinates,
+            Direction direction,
+            int distanceFromExplosive,
+            Explosive explosive,
+            boolean canExpand) {
+        FireExplosion explosion = POOL.acquire();
+        if (explosion == null) return new FireExplosion(owner, coordinates, direction, distanceFromExplosive, explosive, canExpand);
+
+        explosion.init(owner, coordinates, direction, distanceFromExplosive, explosive, canExpand);
+        return explosion;
+    }
+
+    @Override
+    protected EntityPool<?> getPool() {
+        return POOL;
+    }
+
     @Override
     protected String getBasePath() {
         return String.format("%s/bomb/flame", Paths.getEntitiesFolder());
     }
 
     @Override
-    protected Class<? extends AbstractExplosion> getExplosionClass() {
-        return getClass();
+    protected Factory getExplosionFactory() {
+        return FireExplosion::acquire;
     }
 }
@@ -7,6 +7,8 @@ import game.values.DrawPriority;
 import java.util.Set;
 
 public class PistolExplosion extends AbstractExplosion {
+    private static final EntityPool<PistolExplosion> POOL = new EntityPool<>(PistolExplosion.class, 32);
+
     public PistolExplosion(
             Entity owner,
             Coordinates coordinates,
@@ -34,6 +36,40 @@ public class PistolExplosion extends AbstractExplosion {
         super(owner, coordinates, direction, distanceFromExplosive, explosive, canExpand);
     }
 
+    /**
+     * @return a PistolExplosion from the pool set up like a new one, or a new one if the pool is empty;
+     */
+    public static PistolExplosion acquire(
+            Entity owner,
+            Coordinates coordinates,
+            Direction direction,
+            int distanceFromBomb,
+            Explosive explosive) {
+        return acquire(owner, coordinates, direction, distanceFromBomb, explosive, true);
+    }
+
+    /**
+     * @return a PistolExplosion from the pool set up like a new one, or a new one if the pool is empty;
+     */
+    public static PistolExplosion acquire(
+            Entity owner,
+            Coordinates coordinates,
+            Direction direction,
+            int distanceFromExplosive,
+            Explosive explosive,
+            boolean canExpand) {
+        PistolExplosion explosion = POOL.acquire();
+        if (explosion == null) return new PistolExplosion(owner, coordinates, direction, distanceFromExplosive, explosive, canExpand);
+
+        explosion.init(owner, coordinates, direction, distanceFromExplosive, explosive, canExpand);
+        return explosion;
+    }
+
+    @Override
+    protected EntityPool<?> getPool() {
+        return POOL;
+    }
+
     @Override
     protected String getBasePath() {
         return String.format("%s/bomb/flame", Paths.getEntitiesFolder());
@@ -45,8 +81,8 @@ public class PistolExplosion extends AbstractExplosion {
     }
 
     @Override
-    protected Class<? extends AbstractExplosion> getExplosionClass() {
-        return getClass();
+    protected Factory getExplosionFactory() {
+        return PistolExplosion::acquire;
     }
 
     @Override
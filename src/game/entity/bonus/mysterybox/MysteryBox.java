@@ -12,7 +12,6 @@ import game.ui.panels.game.PitchPanel;
 import game.ui.viewelements.misc.ToastHandler;
 import game.utils.Paths;
 
-import javax.swing.*;
 import java.awt.image.BufferedImage;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashSet;
@@ -100,9 +99,7 @@ abstract class MysteryBox extends HardBlock {
 
     private void openBox() {
         status = Status.open;
-        Timer t = new Timer(OPEN_BOX_TIME, (e) -> closeBox());
-        t.setRepeats(false);
-        t.start();
+        Bomberman.getMatch().getScheduler().schedule(this::closeBox, OPEN_BOX_TIME);
     }
 
     private void closeBox() {
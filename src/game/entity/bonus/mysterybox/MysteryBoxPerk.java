@@ -3,10 +3,10 @@ package game.entity.bonus.mysterybox;
 import game.Bomberman;
 import game.entity.models.Coordinates;
 import game.entity.models.Entity;
+import game.entity.models.EntityFactories;
 import game.level.Level;
 import game.powerups.PowerUp;
 
-import java.lang.reflect.InvocationTargetException;
 
 public class MysteryBoxPerk extends MysteryBox {
     public MysteryBoxPerk(Level level, Entity entity) {
@@ -21,12 +21,9 @@ public class MysteryBoxPerk extends MysteryBox {
     @Override
     void onPurchaseConfirm() {
         var powerUpClass = level.getRandomPowerUpClass();
-        PowerUp powerUpInstance;
-        try {
-            powerUpInstance = powerUpClass.getConstructor(Coordinates.class).newInstance(new Coordinates(0, 0));
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            throw new RuntimeException(e);
+        PowerUp powerUpInstance = EntityFactories.create(powerUpClass, new Coordinates(0, 0));
+        if (powerUpInstance == null) {
+            throw new RuntimeException("Can't create the power up " + powerUpClass.getSimpleName());
         }
 
         powerUpInstance.apply(Bomberman.getMatch().getPlayer());
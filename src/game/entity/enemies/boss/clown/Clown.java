@@ -6,7 +6,6 @@ import game.entity.blocks.DestroyableBlock;
 import game.entity.bomb.Bomb;
 import game.entity.bomb.ConfettiExplosion;
 import game.entity.enemies.boss.Boss;
-import game.entity.enemies.npcs.ClownNose;
 import game.entity.enemies.npcs.Orb;
 import game.entity.models.*;
 import game.entity.models.Character;
@@ -50,10 +49,7 @@ public class Clown extends Boss implements Explosive {
         hitboxSizetoWidthRatio = RATIO_WIDTH;
         hasHat = true;
 
-        Dimension panelSize = Bomberman
-                .getBombermanFrame()
-                .getPitchPanel()
-                .getPreferredSize();
+        Dimension panelSize = PitchPanel.DIMENSION;
 
         int y = (int) panelSize.getHeight() - getSize();
         int x = (int) (panelSize.getWidth() / 2 - getSize() / 2);
@@ -146,31 +142,36 @@ public class Clown extends Boss implements Explosive {
     }
 
     /**
-     * Spawns orbs in all directions around this entity.
+     * Fires orbs in all directions around this entity, as projectiles (see ProjectileSystem).
      */
     private void spawnOrbs() {
+        ProjectileSystem projectiles = Bomberman.getMatch().getProjectileSystem();
+
         for (Direction d : Direction.values()) {
-            new ClownNose(
+            projectiles.fire(
+                    ProjectileKind.CLOWN_NOSE,
                     Coordinates.fromDirectionToCoordinateOnEntity(
                             this,
                             d,
                             Orb.SIZE,
                             Orb.SIZE
                     ), d
-            ).spawn(true, false);
+            );
         }
     }
 
     /**
-     * Spawns enhanced orbs in all enhanced directions around this entity.
+     * Fires enhanced orbs in all enhanced directions around this entity, as projectiles (see ProjectileSystem).
      */
     private void spawnEnhancedOrbs() {
+        ProjectileSystem projectiles = Bomberman.getMatch().getProjectileSystem();
+
         for (EnhancedDirection d : EnhancedDirection.values()) {
-            new ClownNose(Coordinates.fromDirectionToCoordinateOnEntity(
+            projectiles.fire(ProjectileKind.CLOWN_NOSE, Coordinates.fromDirectionToCoordinateOnEntity(
                     this,
                     d,
                     Orb.SIZE
-            ), d).spawn(true, false);
+            ), d);
         }
     }
 
@@ -217,7 +218,7 @@ public class Clown extends Boss implements Explosive {
                 ConfettiExplosion.SIZE
         );
 
-        new ConfettiExplosion(
+        ConfettiExplosion.acquire(
                 this,
                 explosionCoordinates,
                 d,
@@ -230,7 +231,7 @@ public class Clown extends Boss implements Explosive {
      */
     public void throwHat() {
         EnhancedDirection d = EnhancedDirection.randomDirectionTowardsCenter(this);
-        Entity hat = new Hat(
+        Entity hat = Hat.acquire(
                 Coordinates.fromDirectionToCoordinateOnEntity(
                         this,
                         d,
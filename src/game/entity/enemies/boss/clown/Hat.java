@@ -6,6 +6,7 @@ import game.entity.models.Entity;
 import game.entity.models.Coordinates;
 import game.entity.models.Direction;
 import game.entity.models.EnhancedDirection;
+import game.entity.models.EntityPool;
 import game.utils.Paths;
 import game.values.DrawPriority;
 
@@ -14,12 +15,39 @@ import java.util.HashSet;
 import java.util.Set;
 
 public class Hat extends Orb {
+    private static final EntityPool<Hat> POOL = new EntityPool<>(Hat.class, 8);
+
     public Hat(Coordinates coordinates, EnhancedDirection enhancedDirection) {
         super(coordinates, enhancedDirection);
         setMaxHp(300);
         setHp(getMaxHp());
     }
 
+    /**
+     * @return a Hat from the pool, or a new one if the pool is empty;
+     */
+    public static Hat acquire(Coordinates coordinates, EnhancedDirection enhancedDirection) {
+        Hat hat = POOL.acquire();
+        if (hat == null) return new Hat(coordinates, enhancedDirection);
+
+        hat.reset(coordinates, enhancedDirection);
+        return hat;
+    }
+
+    /**
+     * Resets a Hat taken from its pool, to move from the given coordinates in the given direction.
+     */
+    private void reset(Coordinates coordinates, EnhancedDirection enhancedDirection) {
+        reset(coordinates);
+        this.direction = null;
+        this.enhancedDirection = enhancedDirection;
+    }
+
+    @Override
+    protected EntityPool<?> getPool() {
+        return POOL;
+    }
+
     @Override
     protected String getBasePath() {
         return Paths.getEnemiesFolder() + "/clown/hat";
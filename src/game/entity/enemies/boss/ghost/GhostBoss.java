@@ -28,7 +28,9 @@ public class GhostBoss extends Boss {
     private static final int MAX_GHOST_ENEMY_SPAWNED = 5;
     private static final int GHOST_SPAWN_TIME_DELAY = 10000;
     private static final int LIGHTS_EVENT_DELAY = 20000;
-    private static long lastLightsEvent = System.currentTimeMillis();
+    // Not static anymore: it's a time of the game clock, which belongs to the match and restarts with every match,
+    // and a level has only one ghost boss at a time, so the delay between the events is the same as before
+    private long lastLightsEvent = Bomberman.getMatch().getClock().millis();
     private static final int MAX_GHOSTS_ALIVE = 10;
     private final static int BOSS_ATTACK_VERTICAL_RANGE = 2;
     private final static int BOSS_ATTACK_HORIZONTAL_RANGE = 1;
@@ -82,9 +84,7 @@ public class GhostBoss extends Boss {
 
         AudioManager.getInstance().play(SoundModel.AXE_HIT);
         updateRageStatus(1);
-        Timer t = new Timer(ATTACK_RESET_DELAY, (l) -> updateRageStatus(0));
-        t.setRepeats(false);
-        t.start();
+        Bomberman.getMatch().getScheduler().schedule(() -> updateRageStatus(0), ATTACK_RESET_DELAY);
     }
 
     /**
@@ -98,12 +98,12 @@ public class GhostBoss extends Boss {
             }
 
             // Check if enough time has passed since the last invisibility to start the task.
-            if (Utility.timePassed(lastInvisibleTime) < INVISIBLE_DELAY) {
+            if (Bomberman.getMatch().getClock().timePassed(lastInvisibleTime) < INVISIBLE_DELAY) {
                 return;
             }
 
             // Record the current time as the last invisibility time.
-            lastInvisibleTime = System.currentTimeMillis();
+            lastInvisibleTime = Bomberman.getMatch().getClock().millis();
             // Set the flag to indicate that an invisible task is running.
             isInvisibleTaskRunning = true;
 
@@ -137,10 +137,8 @@ public class GhostBoss extends Boss {
                         return null;
                     }
 
-                    // Create a timer to delay the execution of the show task after the object is hidden.
-                    Timer t = new Timer(INVISIBLE_DURATION, (l) -> showTask.execute());
-                    t.setRepeats(false);
-                    t.start();
+                    // Delay the execution of the show task after the object is hidden.
+                    Bomberman.getMatch().getScheduler().schedule(showTask::execute, INVISIBLE_DURATION);
 
                     return null;
                 }
@@ -152,13 +150,14 @@ public class GhostBoss extends Boss {
     }
 
     private void spawnGhosts(int n) {
-        if(Utility.timePassed(lastGhostSpawnTime) < GHOST_SPAWN_TIME_DELAY) return;
+        if(Bomberman.getMatch().getClock().timePassed(lastGhostSpawnTime) < GHOST_SPAWN_TIME_DELAY) return;
 
-        lastGhostSpawnTime = System.currentTimeMillis();
+        lastGhostSpawnTime = Bomberman.getMatch().getClock().millis();
 
         for(int i = 0; i < n; i++){
             if(Bomberman.getMatch().getEnemiesAlive() >= MAX_GHOSTS_ALIVE) return;
-            new GhostEnemy().spawnAtRandomCoordinates();
+            // The pitch is full, the next ghosts are tried again after the delay
+            if (!new GhostEnemy().spawnAtRandomCoordinates()) return;
         }
     }
 
@@ -209,12 +208,12 @@ public class GhostBoss extends Boss {
         Utility.runPercentage(ACTION_CHANCE, this::attack);
         Utility.runPercentage(ACTION_CHANCE, this::disappearAndReappear);
         Utility.runPercentage(ACTION_CHANCE, () -> {
-            if (Utility.timePassed(lastLightsEvent) <= LIGHTS_EVENT_DELAY) {
+            if (Bomberman.getMatch().getClock().timePassed(lastLightsEvent) <= LIGHTS_EVENT_DELAY) {
                 return;
             }
 
             performLightsAnimation();
-            lastLightsEvent = System.currentTimeMillis();
+            lastLightsEvent = Bomberman.getMatch().getClock().millis();
         });
 
         Utility.runPercentage(ACTION_CHANCE, () -> {
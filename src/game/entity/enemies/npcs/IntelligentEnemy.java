@@ -1,5 +1,9 @@
 package game.entity.enemies.npcs;
 
+import game.Bomberman;
+import game.data.TileOccupancy;
+import game.entity.Player;
+import game.entity.bomb.DangerMap;
 import game.entity.models.*;
 import game.entity.models.Coordinates;
 import game.entity.models.Direction;
@@ -9,9 +13,19 @@ import game.events.ScoreGameEvent;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
 public abstract class IntelligentEnemy extends Enemy implements ICPU {
     public static final int DIRECTION_REFRESH_RATE = 500;
     public int CHANGE_DIRECTION_RATE = 10; // percentage
+    // Max length of the path to a tile no explosion is going to cover, in tiles
+    private static final int ESCAPE_DISTANCE = 8;
+    private long lastForcedChange = 0;
+    // Direction chosen in the decision phase of the tick, see DecisionPhase
+    private Direction decision = null;
+    private boolean decided = false;
+    // Mask of the layers of the tiles this enemy can't cross, built when first needed
+    private int pathBlockingLayers = -1;
 
     public IntelligentEnemy() {
         super();
@@ -42,7 +56,27 @@ public abstract class IntelligentEnemy extends Enemy implements ICPU {
     @Override
     public Direction chooseDirection(boolean forceChange) {
         // Get the current time in milliseconds
-        long currentTime = System.currentTimeMillis();
+        long currentTime = Bomberman.getMatch().getClock().millis();
+        if (forceChange) lastForcedChange = currentTime;
+
+        int column = (getX() + getSize() / 2) / GRID_SIZE;
+        int row = (getY() + getSize() / 2) / GRID_SIZE;
+        DangerMap dangerMap = Bomberman.getMatch().getDangerMap();
+
+        // Enemies run away from the tiles an explosion is going to cover, and don't walk into them
+        if (dangerMap.isDangerous(column, row)) {
+            Direction escape = getEscapeDirection(column, row, dangerMap);
+            if (escape != null) return escape;
+        } else if (currDirection != null && dangerMap.isDangerous(column, row, currDirection)) {
+            forceChange = true;
+        }
+
+        // Chasing enemies follow the path toward the player, unless they have just been stopped by something else
+        if (chasesPlayer() && currentTime - lastForcedChange >= DIRECTION_REFRESH_RATE) {
+            Direction direction = getDirectionTowardPlayer(column, row, dangerMap);
+            if (direction != null) return direction;
+        }
+
         // If it hasn't been long enough since the last direction update, keep moving in the same direction, unless last move was blocked
         if (currentTime - lastDirectionUpdate < DIRECTION_REFRESH_RATE && !forceChange) {
             return currDirection;
@@ -54,13 +88,19 @@ public abstract class IntelligentEnemy extends Enemy implements ICPU {
                 .filter(e -> getSupportedDirections().contains(e))
                 .collect(Collectors.toList());
 
+        // Directions toward an explosion are taken only if there are no others
+        List<Direction> safeDirections = availableDirections.stream()
+                .filter(d -> !dangerMap.isDangerous(column, row, d))
+                .collect(Collectors.toList());
+        if (!safeDirections.isEmpty()) availableDirections = safeDirections;
+
         // If forceChange is true, remove the current direction from the list of available directions
         if (availableDirections.isEmpty()) {
             return currDirection;
         }
         // Choose a new direction randomly, or keep the current direction with a certain probability
         Direction newDirection = null;
-        if (Math.random() * 100 > CHANGE_DIRECTION_RATE&&availableDirections.size()!=1) {
+        if (Math.random() * 100 > CHANGE_DIRECTION_RATE&&availableDirections.size()!=1&&!(currDirection != null && dangerMap.isDangerous(column, row, currDirection))) {
             newDirection = currDirection;
         }
 
@@ -73,19 +113,112 @@ public abstract class IntelligentEnemy extends Enemy implements ICPU {
         return newDirection;
     }
 
+    /**
+     * @return true if the enemy follows the shortest path toward the player instead of moving randomly;
+     */
+    protected boolean chasesPlayer() {
+        return false;
+    }
+
+    /**
+     * Gets the next step of the shortest path from the tile of the enemy to the tile of the player, read from the
+     * flow field shared by all the enemies, see FlowField.
+     *
+     * @return the direction of the step, null if there is no path, the enemy is already on the tile of the player
+     * or the step is toward an explosion
+     */
+    private Direction getDirectionTowardPlayer(int column, int row, DangerMap dangerMap) {
+        Player player = Bomberman.getMatch().getPlayer();
+        if (player == null || !player.isSpawned()) return null;
+
+        int playerColumn = (player.getX() + player.getSize() / 2) / GRID_SIZE;
+        int playerRow = (player.getY() + player.getSize() / 2) / GRID_SIZE;
+
+        Direction d = Bomberman.getMatch().getFlowField().getDirection(column, row, playerColumn, playerRow, getPathBlockingLayers());
+        if (d == null || !getSupportedDirections().contains(d) || dangerMap.isDangerous(column, row, d)) return null;
+
+        return alignToTile(d, column, row);
+    }
+
+    /**
+     * Gets the next step of the shortest path from the tile of the enemy to the nearest tile no explosion is going to
+     * cover, see DangerMap.
+     *
+     * @return the direction of the step, null if there is no such tile near the enemy
+     */
+    private Direction getEscapeDirection(int column, int row, DangerMap dangerMap) {
+        Direction d = Bomberman.getMatch().getPathFinder().nextStepTowardNearest(column, row, getPathBlockingLayers(),
+                ESCAPE_DISTANCE, (c, r) -> !dangerMap.isDangerous(c, r));
+        if (d == null || !getSupportedDirections().contains(d)) return null;
+
+        return alignToTile(d, column, row);
+    }
+
+    /**
+     * @return the mask of the layers of the tiles this enemy can't cross, see TileOccupancy.Layer.maskOf;
+     */
+    private int getPathBlockingLayers() {
+        if (pathBlockingLayers < 0) pathBlockingLayers = TileOccupancy.Layer.maskOf(getObstacles());
+        return pathBlockingLayers;
+    }
+
+    /**
+     * Before turning, the enemy moves inside the row or the column of its tile, so it doesn't hit the corners around.
+     *
+     * @return the direction to align the enemy to its tile first, the given one if it is already aligned
+     */
+    private Direction alignToTile(Direction d, int column, int row) {
+        switch (d) {
+            case LEFT:
+            case RIGHT:
+                if (getY() < row * GRID_SIZE) return Direction.DOWN;
+                if (getY() + getSize() > (row + 1) * GRID_SIZE) return Direction.UP;
+                break;
+            case UP:
+            case DOWN:
+                if (getX() < column * GRID_SIZE) return Direction.RIGHT;
+                if (getX() + getSize() > (column + 1) * GRID_SIZE) return Direction.LEFT;
+                break;
+        }
+
+        return d;
+    }
+
     @Override
     public void changeDirection() {
         updateLastDirection(chooseDirection(true));
     }
 
+    @Override
+    public void decide() {
+        // A decision not applied yet is dropped if the enemy can't move anymore
+        decided = canMove;
+        if (decided) decision = chooseDirection(false);
+    }
+
     public void doUpdate(boolean gameState) {
         if (!canMove || !gameState) {
             return;
         }
-        commandQueue.add(chooseDirection(false).toCommand());
+
+        // The direction is chosen here only if the enemy missed the decision phase of this tick, e.g. just spawned
+        commandQueue.add((decided ? decision : chooseDirection(false)).toCommand());
+        decided = false;
         executeQueue();
     }
 
+    @Override
+    protected void onSpawn() {
+        super.onSpawn();
+        Bomberman.getMatch().getDecisionPhase().register(this);
+    }
+
+    @Override
+    protected void onDespawn() {
+        super.onDespawn();
+        Bomberman.getMatch().getDecisionPhase().unregister(this);
+    }
+
     @Override
     protected void onEliminated() {
         super.onEliminated();
@@ -1,5 +1,6 @@
 package game.entity.enemies.npcs;
 
+import game.Bomberman;
 import game.entity.Player;
 import game.entity.blocks.DestroyableBlock;
 import game.entity.bomb.AbstractExplosion;
@@ -12,7 +13,6 @@ import game.entity.models.Direction;
 import game.sound.AudioManager;
 import game.sound.SoundModel;
 import game.utils.Paths;
-import game.utils.Utility;
 
 import java.util.*;
 
@@ -42,10 +42,10 @@ public class TankEnemy extends IntelligentEnemy implements Explosive {
      */
     @Override
     public void doUpdate(boolean arg) {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = Bomberman.getMatch().getClock().millis();
 
         // Check if it's time to update the shooting behavior
-        if (Utility.timePassed(lastUpdate) > SHOOTING_REFRESH_RATE) {
+        if (Bomberman.getMatch().getClock().timePassed(lastUpdate) > SHOOTING_REFRESH_RATE) {
             lastUpdate = currentTime;
 
             // Check if the entity can shoot and if a random probability allows shooting
@@ -60,7 +60,7 @@ public class TankEnemy extends IntelligentEnemy implements Explosive {
                 // Play the explosion sound and create a new FireExplosion
                 AudioManager.getInstance().play(SoundModel.EXPLOSION);
 
-                new FireExplosion(this, newCoords, currDirection, this);
+                FireExplosion.acquire(this, newCoords, currDirection, this);
 
                 canMove = false;
             }
@@ -68,7 +68,7 @@ public class TankEnemy extends IntelligentEnemy implements Explosive {
         }
 
         // Check if it's time to allow movement again after standing still
-        if (Utility.timePassed(lastUpdate) > STANDING_STILL_PERIOD) {
+        if (Bomberman.getMatch().getClock().timePassed(lastUpdate) > STANDING_STILL_PERIOD) {
             canMove = true;
         }
 
@@ -16,6 +16,11 @@ public class Zombie extends IntelligentEnemy {
         setHp(getMaxHp());
     }
 
+    @Override
+    protected boolean chasesPlayer() {
+        return true;
+    }
+
     @Override
     public float getSpeed() {
         return 0.5f;
@@ -45,8 +45,8 @@ public abstract class BomberEntity extends Character implements Explosive {
     }
 
     @Override
-    public void move(Coordinates coordinates) {
-        super.move(coordinates);
+    protected void move(int x, int y) {
+        super.move(x, y);
         handleInteractionWithBombs();
     }
 
@@ -6,12 +6,14 @@ import game.hardwareinput.Command;
 import game.hardwareinput.ControllerManager;
 import game.sound.AudioManager;
 import game.sound.SoundModel;
+import game.tasks.GameTask;
 import game.ui.panels.game.PitchPanel;
 import game.utils.Utility;
 import game.values.DrawPriority;
 
 import java.awt.image.BufferedImage;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import static game.entity.models.Direction.*;
@@ -24,7 +26,8 @@ import static game.entity.models.Direction.DOWN;
 public abstract class Character extends MovingEntity {
     public static final int SIZE = PitchPanel.PIXEL_UNIT * 4 * 2;
     protected final List<Direction> imagePossibleDirections = getImageDirections();
-    protected Set<Command> commandQueue = new HashSet<>();
+    // Filled by the input listeners and consumed by the game thread
+    protected Set<Command> commandQueue = ConcurrentHashMap.newKeySet();
     protected long lastDirectionUpdate = 0;
     protected Direction currDirection = DOWN;
     /**
@@ -53,6 +56,19 @@ public abstract class Character extends MovingEntity {
 
     public abstract String[] getCharacterOrientedImages();
 
+    @Override
+    protected void reset(Coordinates coordinates) {
+        super.reset(coordinates);
+        commandQueue.clear();
+        lastDirectionUpdate = 0;
+        currDirection = DOWN;
+        previousDirection = null;
+        imageDirection = null;
+        isAlive = true;
+        canMove = true;
+        setHp(getMaxHp());
+    }
+
     private void setImageDirection() {
         if (imagePossibleDirections.contains(currDirection)) imageDirection = currDirection;
         else if (imageDirection == null) imageDirection = imagePossibleDirections.get(0);
@@ -133,7 +149,7 @@ public abstract class Character extends MovingEntity {
         if (useOnlyBaseIcons()) {
             String[] baseIcons = refreshDirectionAndGetCharsImages();
 
-            if (Utility.timePassed(lastImageUpdate) > getImageRefreshRate()) {
+            if (Bomberman.getMatch().getClock().timePassed(lastImageUpdate) > getImageRefreshRate()) {
                 // If it's time to refresh the image, increment the image index.
                 lastImageIndex++;
                 playStepSound();
@@ -166,8 +182,8 @@ public abstract class Character extends MovingEntity {
         // If the previousDirection and current direction are different, reset the image index and last direction update time.
         if (previousDirection != d) {
             lastImageIndex = 0;
-            lastDirectionUpdate = System.currentTimeMillis();
-        } else if (Utility.timePassed(lastImageUpdate) > getImageRefreshRate()) {
+            lastDirectionUpdate = Bomberman.getMatch().getClock().millis();
+        } else if (Bomberman.getMatch().getClock().timePassed(lastImageUpdate) > getImageRefreshRate()) {
             // If it's time to refresh the image, increment the image index.
             lastImageIndex++;
             playStepSound();
@@ -243,35 +259,33 @@ public abstract class Character extends MovingEntity {
         int durationMs = 100;
         // Calculate the number of iterations required to reach the total duration
         int iterations = (int) (EntityInteractable.INTERACTION_DELAY_MS / durationMs);
+        int generation = getGeneration();
 
-        // Create a Timer object to schedule the animation iterations
-        Timer timer = new Timer();
-        timer.schedule(new TimerTask() {
-            // Counter to keep track of the number of iterations
+        // Schedule the animation iterations, toggling the visibility every durationMs
+        Bomberman.getMatch().getScheduler().schedule(new GameTask() {
+            // Counter to keep track of the number of visibility changes
             int count = 0;
 
             @Override
             public void run() {
-                // If the number of iterations has been reached, cancel the timer and return
-                if (count >= iterations || !isSpawned()) {
-                    timer.cancel();
+                // If the number of iterations has been reached, make the entity visible and stop the animation
+                // A pooled entity may have been spawned again in the meantime, as a new one
+                if (generation != getGeneration()) {
+                    cancel();
                     return;
                 }
 
-                try {
-                    // Make the entity invisible and wait for the specified duration
-                    setInvisible(true);
-                    Thread.sleep(durationMs);
-                    // Make the entity visible again and wait for the specified duration
+                if (count >= iterations * 2 || !isSpawned()) {
                     setInvisible(false);
-                    Thread.sleep(durationMs);
-                } catch (InterruptedException ignored) {
+                    cancel();
+                    return;
                 }
 
-                // Increment the counter to keep track of the number of iterations
+                // The entity is invisible on the first half of each iteration, visible on the second one
+                setInvisible(count % 2 == 0);
                 count++;
             }
-        }, 0, durationMs * 2); // Schedule the timer to repeat with a fixed delay of durationMs * 2 between iterations
+        }, 0, durationMs);
     }
 
     protected List<Direction> getImageDirections() {
@@ -326,10 +340,10 @@ public abstract class Character extends MovingEntity {
      */
     protected final void attackReceived(int damage) {
         synchronized ((Object) lastDamageTime) {
-            if (Utility.timePassed(lastDamageTime) < INTERACTION_DELAY_MS)
+            if (Bomberman.getMatch().getClock().timePassed(lastDamageTime) < INTERACTION_DELAY_MS)
                 return;
 
-            lastDamageTime = System.currentTimeMillis();
+            lastDamageTime = Bomberman.getMatch().getClock().millis();
 
             // Reduce the health points by the specified amount
             healthPoints -= damage;
@@ -362,15 +376,15 @@ public abstract class Character extends MovingEntity {
         canMove = false;
         AudioManager.getInstance().play(getDeathSound());
 
-        // Create a Timer object to schedule the animation iterations
-        javax.swing.Timer timer = new javax.swing.Timer((int) INTERACTION_DELAY_MS, (e) -> {
+        // Despawn the entity at the end of the death animation, unless it has been reused from its pool since
+        int generation = getGeneration();
+        Bomberman.getMatch().getScheduler().schedule(() -> {
+            if (generation != getGeneration()) return;
+
             onEndedDeathAnimation();
 
             despawn();
-        });
-
-        timer.setRepeats(false);
-        timer.start();
+        }, INTERACTION_DELAY_MS);
     }
 
     protected SoundModel getDeathSound() {
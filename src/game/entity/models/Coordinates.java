@@ -1,17 +1,19 @@
 package game.entity.models;
 
 import game.Bomberman;
+import game.data.TileOccupancy;
 import game.ui.panels.game.PitchPanel;
 
 import java.awt.*;
-import java.time.temporal.ValueRange;
 import java.util.*;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 import static game.ui.panels.game.PitchPanel.GRID_SIZE;
 
 public class Coordinates implements Comparable<Coordinates> {
+    // Random free blocks picked before checking all of them, when they have to satisfy a condition
+    private static final int RANDOM_FREE_BLOCK_TRIES = 16;
     private final int x;
     private final int y;
 
@@ -46,17 +48,11 @@ public class Coordinates implements Comparable<Coordinates> {
     }
 
     public boolean validate(int size) {
-        Dimension gamePanelDimensions = Bomberman.getBombermanFrame().getPitchPanel().getPanelDimensions();
-
-
-        ValueRange rangeY = ValueRange.of(0, gamePanelDimensions.height - size);
-        ValueRange rangeX = ValueRange.of(0, gamePanelDimensions.width - size);
-
-        return (rangeY.isValidValue(getY()) && rangeX.isValidValue(getX()));
+        return PackedCoordinates.validate(PackedCoordinates.pack(this), size);
     }
 
     public static Coordinates roundedRandomCoords(Coordinates offset) {
-        Dimension dimensions = Bomberman.getBombermanFrame().getPitchPanel().getPanelDimensions();
+        Dimension dimensions = PitchPanel.DIMENSION;
 
         return roundCoordinates(new Coordinates(((int) (Math.random() * dimensions.getWidth())), ((int) (Math.random() * dimensions.getHeight()))), offset);
     }
@@ -66,10 +62,7 @@ public class Coordinates implements Comparable<Coordinates> {
     }
 
     public static Coordinates roundCoordinates(Coordinates coords, Coordinates offset) {
-        if (offset.getY() == 12) {
-            int a = 0;
-        }
-        return new Coordinates(((coords.getX() / GRID_SIZE) * GRID_SIZE + offset.getX()), ((coords.getY() / GRID_SIZE) * GRID_SIZE + offset.getY()));
+        return PackedCoordinates.toCoordinates(PackedCoordinates.roundCoordinates(PackedCoordinates.pack(coords), offset.getX(), offset.getY()));
     }
 
     public static Coordinates generateRandomCoordinates() {
@@ -81,9 +74,7 @@ public class Coordinates implements Comparable<Coordinates> {
     }
 
     public static Coordinates generateCoordinatesAwayFrom(Coordinates other, int offset) {
-        Coordinates coord;
-        while ((coord = Coordinates.generateRandomCoordinates()).distanceTo(other) < offset) ;
-        return coord;
+        return generateRandomCoordinates(new Coordinates(0, 0), GRID_SIZE, c -> c.distanceTo(other) >= offset);
     }
 
 
@@ -92,22 +83,45 @@ public class Coordinates implements Comparable<Coordinates> {
     }
 
     public static Coordinates randomCoordinatesFromPlayer(int entitySize, int distance) {
-        Coordinates c;
-        while (true) {
-            c = Coordinates.generateCoordinatesAwayFrom(Bomberman.getMatch().getPlayer().getCoords(), distance);
-            ;
-            if (c.validate(entitySize)) return c;
-        }
+        Coordinates playerCoords = Bomberman.getMatch().getPlayer().getCoords();
+        return generateRandomCoordinates(new Coordinates(0, 0), entitySize, c -> c.distanceTo(playerCoords) >= distance);
     }
 
     public static Coordinates generateRandomCoordinates(Coordinates spawnOffset, int size) {
-        while (true) {
-            Coordinates coords = roundedRandomCoords(spawnOffset);
+        return generateRandomCoordinates(spawnOffset, size, c -> true);
+    }
 
-            if (!Coordinates.isBlockOccupied(coords) && coords.validate(size)) {
-                return coords;
-            }
+    /**
+     * Generates the coordinates of a random free block plus the spawn offset, where an entity of the given size
+     * is inside the pitch and that are accepted by the filter. The block is picked among the free ones
+     * (see TileOccupancy), so the time it takes doesn't depend on how many blocks are occupied.
+     *
+     * @param spawnOffset the offset from the top left corner of the block
+     * @param size        the size of the entity to spawn
+     * @param accept      additional check on the coordinates
+     * @return the coordinates generated, or null if no free block is accepted
+     */
+    public static Coordinates generateRandomCoordinates(Coordinates spawnOffset, int size, Predicate<Coordinates> accept) {
+        TileOccupancy occupancy = Bomberman.getMatch().getSpatialHash().getOccupancy();
+        Predicate<Coordinates> isValid = c -> c.validate(size) && accept.test(c);
+
+        for (int i = 0; i < RANDOM_FREE_BLOCK_TRIES; i++) {
+            Coordinates block = occupancy.getRandomFreeTile();
+            if (block == null) break;
+
+            Coordinates coords = block.plus(spawnOffset);
+            if (isValid.test(coords)) return coords;
         }
+
+        // Only a few free blocks are accepted, so all of them are checked
+        List<Coordinates> candidates = new ArrayList<>();
+        for (Coordinates block : occupancy.getFreeTiles()) {
+            Coordinates coords = block.plus(spawnOffset);
+            if (isValid.test(coords)) candidates.add(coords);
+        }
+
+        if (candidates.isEmpty()) return null;
+        return candidates.get((int) (Math.random() * candidates.size()));
     }
 
     public static Coordinates generateRandomCoordinates(Coordinates spawnOffset) {
@@ -126,27 +140,7 @@ public class Coordinates implements Comparable<Coordinates> {
      * @return the next coordinates in the given direction and with the given step size
      */
     public static Coordinates nextCoords(Coordinates coordinates, Direction d, int stepSize) {
-        int x = 0;
-        int y = 0;
-
-        // Determine the direction to move in
-        switch (d) {
-            case RIGHT:
-                x = stepSize;
-                break;
-            case LEFT:
-                x = -stepSize;
-                break;
-            case UP:
-                y = -stepSize;
-                break;
-            case DOWN:
-                y = stepSize;
-                break;
-        }
-
-        // Calculate the next coordinates based on the current direction and step size
-        return new Coordinates(x + coordinates.getX(), y + coordinates.getY());
+        return PackedCoordinates.toCoordinates(PackedCoordinates.nextCoords(PackedCoordinates.pack(coordinates), d, stepSize));
     }
 
     @Override
@@ -238,7 +232,7 @@ public class Coordinates implements Comparable<Coordinates> {
     }
 
     public static Coordinates getCenterCoordinatesOfEntity(Entity e) {
-        return new Coordinates(e.getCoords().getX() + e.getSize() / 2, e.getCoords().getY() + e.getSize() / 2);
+        return PackedCoordinates.toCoordinates(PackedCoordinates.getCenterCoordinates(e.getPosition(), e.getSize()));
     }
 
     public static Entity getEntityOnCoordinates(Coordinates desiredCoords) {
@@ -249,22 +243,8 @@ public class Coordinates implements Comparable<Coordinates> {
 
 
     public static List<Entity> getEntitiesOnCoordinates(List<Coordinates> desiredCoords) {
-        List<Entity> entityLinkedList = new LinkedList<>();
-        // Check for each entity if it occupies the specified coordinates
-        List<? extends Entity> entities = Bomberman.getMatch().getEntities();
-
-        entities.parallelStream().forEach(e -> {
-            for (Coordinates coord : desiredCoords) {
-                int entityBottomRightX = e.getCoords().getX() + e.getSize() - 1;
-                int entityBottomRightY = e.getCoords().getY() + e.getSize() - 1;
-
-                if (coord.getX() >= e.getCoords().getX() && coord.getX() <= entityBottomRightX && coord.getY() >= e.getCoords().getY() && coord.getY() <= entityBottomRightY) {
-                    entityLinkedList.add(e);
-                }
-            }
-        });
-
-        return entityLinkedList;
+        // Check for each entity near the specified coordinates if it occupies them
+        return Bomberman.getMatch().getSpatialHash().getEntitiesOnPoints(desiredCoords);
     }
 
     /**
@@ -274,10 +254,47 @@ public class Coordinates implements Comparable<Coordinates> {
      * @return a list of entities that occupy the specified coordinate
      */
     public static List<Entity> getEntitiesOnBlock(Coordinates nextOccupiedCoords) {
-        ArrayList<Coordinates> arrayCoordinates = getAllCoordinates(Coordinates.roundCoordinates(nextOccupiedCoords), GRID_SIZE);
-        // Get all the blocks and entities in the game
-        var entities = Bomberman.getMatch().getEntities();
-        return entities.stream().filter(e -> arrayCoordinates.stream().anyMatch(coords -> doesCollideWith(coords, e))).collect(Collectors.toList());
+        Coordinates blockCoords = Coordinates.roundCoordinates(nextOccupiedCoords);
+        // Get the blocks and entities overlapping the block
+        return Bomberman.getMatch().getSpatialHash().getEntitiesInArea(
+                blockCoords.getX(),
+                blockCoords.getY(),
+                GRID_SIZE,
+                GRID_SIZE,
+                e -> doesCollideWithBlock(blockCoords.getX(), blockCoords.getY(), e)
+        );
+    }
+
+    /**
+     * Checks if the entity collides with at least one of the coordinates returned by getAllCoordinates for the block,
+     * without building them.
+     *
+     * @param blockX the x of the top left corner of the block
+     * @param blockY the y of the top left corner of the block
+     * @param e      the entity to check for collision with
+     * @return true if the entity collides with the block, false otherwise
+     */
+    public static boolean doesCollideWithBlock(int blockX, int blockY, Entity e) {
+        return doesCollideWithBlock(blockX, blockY, e.getX(), e.getY(), e.getSize());
+    }
+
+    /**
+     * Checks if an entity with the given top left corner and size collides with the block, see doesCollideWithBlock.
+     */
+    public static boolean doesCollideWithBlock(int blockX, int blockY, int x, int y, int size) {
+        // The coordinates of the block are a grid, so they can be checked on each axis on its own
+        return doesCollideOnAxis(blockX, x, size) && doesCollideOnAxis(blockY, y, size);
+    }
+
+    private static boolean doesCollideOnAxis(int blockStart, int entityStart, int size) {
+        int last = GRID_SIZE / PitchPanel.COMMON_DIVISOR;
+
+        for (int i = 0; i <= last; i++) {
+            int p = blockStart + i * PitchPanel.COMMON_DIVISOR - (i == last ? PitchPanel.PIXEL_UNIT : 0);
+            if (p >= entityStart && p <= entityStart + size - 1) return true;
+        }
+
+        return false;
     }
 
     /**
@@ -292,14 +309,7 @@ public class Coordinates implements Comparable<Coordinates> {
     }
 
     private static boolean doesCollideWith(Coordinates nextOccupiedCoords, Coordinates entityCoords, int size) {
-
-
-        // Get the coordinates of the bottom-right corner of the entity
-        int entityBottomRightX = entityCoords.getX() + size - 1;
-        int entityBottomRightY = entityCoords.getY() + size - 1;
-
-        // Check if the given coordinates collide with the entity
-        return nextOccupiedCoords.getX() >= entityCoords.getX() && nextOccupiedCoords.getX() <= entityBottomRightX && nextOccupiedCoords.getY() >= entityCoords.getY() && nextOccupiedCoords.getY() <= entityBottomRightY;
+        return PackedCoordinates.contains(PackedCoordinates.pack(entityCoords), size, PackedCoordinates.pack(nextOccupiedCoords));
     }
 
     public static ArrayList<Coordinates> getAllCoordinates(Coordinates coords, int size) {
@@ -339,7 +349,16 @@ public class Coordinates implements Comparable<Coordinates> {
     }
 
     public static boolean isBlockOccupied(Coordinates nextOccupiedCoords) {
-        return !getEntitiesOnBlock(nextOccupiedCoords).isEmpty();
+        TileOccupancy occupancy = Bomberman.getMatch().getSpatialHash().getOccupancy();
+        int column = nextOccupiedCoords.getX() / GRID_SIZE;
+        int row = nextOccupiedCoords.getY() / GRID_SIZE;
+
+        // Blocks out of the pitch aren't tracked
+        if (!occupancy.contains(column, row)) {
+            return !getEntitiesOnBlock(nextOccupiedCoords).isEmpty();
+        }
+
+        return occupancy.isOccupied(column, row);
     }
 
     public static List<Coordinates> getAllBlocksInAreaFromDirection(Entity e, Direction d, int depth) {
@@ -357,7 +376,7 @@ public class Coordinates implements Comparable<Coordinates> {
     }
 
     public static int roundIntToGridSize(int p) {
-        return p / GRID_SIZE * GRID_SIZE;
+        return PackedCoordinates.roundIntToGridSize(p);
     }
 
     @Override
@@ -1,6 +1,7 @@
 package game.entity.models;
 
 import game.Bomberman;
+import game.data.EntitySpatialHash;
 import game.hardwareinput.MouseControllerManager;
 import game.tasks.GameTickerObserver;
 import game.events.RunnablePar;
@@ -21,12 +22,19 @@ import static game.utils.Utility.loadImage;
  */
 public abstract class Entity extends GameTickerObserver {
     protected Set<Class<? extends Entity>> passiveInteractionEntities = getBasePassiveInteractionEntities();
+    private final int typeId = EntityTypes.getTypeId(getClass());
+    private TypeMask passiveInteractionMask = null;
+    // True once the passive interactions of this entity differ from the ones of its class
+    private boolean customPassiveInteractions = false;
     protected BufferedImage image;
     protected int lastImageIndex;
     protected long lastImageUpdate;
     protected float hitboxSizetoWidthRatio = 1;
     protected float hitboxSizeToHeightRatio = 1;
-    private Coordinates coords;
+    // The position of the entity is packed in a long (see PackedCoordinates), so moving it doesn't allocate and
+    // it is always read consistently; the coordinates object is built again only when asked after a move
+    private volatile long position;
+    private volatile Coordinates coords;
     private boolean isSpawned = false;
     private boolean isImmune = false;
     private boolean isInvisible = false;
@@ -35,6 +43,11 @@ public abstract class Entity extends GameTickerObserver {
     private String imagePath = "";
     private float alpha = 1;
     private final long id;
+    // Incremented every time the entity is reset to be spawned again from its pool, see EntityPool
+    private int generation = 0;
+    // The generation in which the entity went back to its pool, and the last snapshot published then, see EntityPool
+    int releasedGeneration = -1;
+    long releasedSnapshotVersion = 0;
 
     protected RunnablePar paddingTopFunction = new RunnablePar() {
         @Override
@@ -66,6 +79,7 @@ public abstract class Entity extends GameTickerObserver {
      */
     public Entity(Coordinates coordinates){
         this.id = UUID.randomUUID().getMostSignificantBits();
+        if (coordinates != null) this.position = PackedCoordinates.pack(coordinates);
         this.coords = coordinates;
     }
 
@@ -74,6 +88,47 @@ public abstract class Entity extends GameTickerObserver {
     protected void onSpawn(){}
     protected void onDespawn(){}
 
+    /**
+     * @return the pool the entity goes back to when it is despawned, null if it isn't pooled;
+     */
+    protected EntityPool<?> getPool() {
+        return null;
+    }
+
+    /**
+     * Brings an entity taken from its pool back to the state of a new one, on the given coordinates. The pooled
+     * entities reset their own state too, calling this one.
+     *
+     * @param coordinates the coordinates of the entity
+     */
+    protected void reset(Coordinates coordinates) {
+        generation++;
+        lastUpdate = 0L;
+        image = null;
+        lastImageIndex = 0;
+        lastImageUpdate = 0;
+        imagePath = "";
+        alpha = 1;
+        isImmune = false;
+        isInvisible = false;
+
+        if (customPassiveInteractions) {
+            passiveInteractionEntities = getBasePassiveInteractionEntities();
+            passiveInteractionMask = null;
+            customPassiveInteractions = false;
+        }
+
+        setCoords(coordinates);
+    }
+
+    /**
+     * @return the number of times the entity has been reset, so the tasks started in a previous life can find out
+     * that it is a new entity;
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
     /**
      * Performs an interaction between this entity and another entity.
      *
@@ -134,7 +189,7 @@ public abstract class Entity extends GameTickerObserver {
      * @return the loaded image
      */
     public BufferedImage loadAndSetImage(String imagePath) {
-        this.lastImageUpdate = System.currentTimeMillis();
+        this.lastImageUpdate = Bomberman.getMatch().getClock().millis();
         this.image = loadImage(imagePath);
         this.imagePath = imagePath;
         return this.image;
@@ -150,7 +205,21 @@ public abstract class Entity extends GameTickerObserver {
      * @param coordinates the new coordinates of the entity
      */
     public void setCoords(Coordinates coordinates) {
+        if (coordinates != null) this.position = PackedCoordinates.pack(coordinates);
         this.coords = coordinates;
+        if (isSpawned()) Bomberman.getMatch().onEntityMoved(this);
+    }
+
+    /**
+     * Moves the entity to the given position without allocating any coordinates object.
+     *
+     * @param x the new x of the top left corner
+     * @param y the new y of the top left corner
+     */
+    public void setPosition(int x, int y) {
+        this.position = PackedCoordinates.pack(x, y);
+        if (this.coords == null) this.coords = new Coordinates(x, y);
+        if (isSpawned()) Bomberman.getMatch().onEntityMoved(this);
     }
 
     /**
@@ -159,7 +228,38 @@ public abstract class Entity extends GameTickerObserver {
      * @return the coordinates of the entity
      */
     public Coordinates getCoords() {
-        return coords;
+        Coordinates c = coords;
+        if (c == null) return null;
+
+        // The entity has been moved by setPosition since the coordinates were built
+        long p = position;
+        if (PackedCoordinates.pack(c) != p) {
+            c = PackedCoordinates.toCoordinates(p);
+            coords = c;
+        }
+
+        return c;
+    }
+
+    /**
+     * @return the x of the top left corner of the entity, without building its coordinates;
+     */
+    public int getX() {
+        return PackedCoordinates.getX(position);
+    }
+
+    /**
+     * @return the y of the top left corner of the entity, without building its coordinates;
+     */
+    public int getY() {
+        return PackedCoordinates.getY(position);
+    }
+
+    /**
+     * @return the packed coordinates of the top left corner of the entity, see PackedCoordinates;
+     */
+    public long getPosition() {
+        return position;
     }
 
     /**
@@ -188,14 +288,29 @@ public abstract class Entity extends GameTickerObserver {
      * Despawns the entity from the game world.
      */
     public final void despawn() {
+        boolean wasSpawned = isSpawned();
         setSpawned(false);
         Bomberman.getMatch().removeEntity(this);
         this.onDespawn();
+
+        // Only once, even if despawned again, and only by the thread changing the world
+        EntityPool<?> pool = getPool();
+        if (wasSpawned && pool != null && Bomberman.getMatch().isGameThread())
+            pool.release(this, Bomberman.getMatch().getEntitiesSnapshotVersion());
     }
 
-    public final void spawnAtRandomCoordinates() {
-        setCoords(Coordinates.generateCoordinatesAwayFrom(Bomberman.getMatch().getPlayer().getCoords(), GRID_SIZE * 3));
+    /**
+     * Spawns the entity on a random free block away from the player.
+     *
+     * @return false if no such block is free, so the entity hasn't been spawned
+     */
+    public final boolean spawnAtRandomCoordinates() {
+        Coordinates coords = Coordinates.generateCoordinatesAwayFrom(Bomberman.getMatch().getPlayer().getCoords(), GRID_SIZE * 3);
+        if (coords == null) return false;
+
+        setCoords(coords);
         spawn();
+        return isSpawned();
     }
 
     public boolean isInvisible() {
@@ -225,14 +340,18 @@ public abstract class Entity extends GameTickerObserver {
             return;
         }
 
+        // no free block was left for the entity when its coordinates were generated
+        if (getCoords() == null) return;
+
         // centers entity on tile
         if (forceCentering)
             setCoords(Coordinates.roundCoordinates(getCoords(), getSpawnOffset()));
 
         // spawns entity if the spawn point is free, otherwise do nothing
-        if (forceSpawn || !Coordinates.isBlockOccupied(coords)) {
+        if (forceSpawn || !Coordinates.isBlockOccupied(getCoords())) {
             setSpawned(true); // mark entity as spawned
             Bomberman.getMatch().addEntity(this); // add entity to the game state
+            EntityFactories.countSpawn(this);
             onSpawn(); // run entity-specific spawn logic
         }
     }
@@ -274,6 +393,43 @@ public abstract class Entity extends GameTickerObserver {
         return coordinates; // return list of all coordinates that make up the entity
     }
 
+    /**
+     * Checks if there are entities on the coordinates returned by getNewCoordinatesOnDirection, visiting them
+     * one by one instead of building their list, so nothing is allocated.
+     *
+     * @return true if at least one entity occupies the new coordinates;
+     */
+    protected boolean hasEntitiesOnNewCoordinates(Direction d, int steps, int offset) {
+        EntitySpatialHash spatialHash = Bomberman.getMatch().getSpatialHash();
+        int x = getX();
+        int y = getY();
+        int size = getSize();
+        int first = d == Direction.RIGHT ? 0 : steps;
+        int last = 0;
+
+        for (int step = 0; step <= steps / offset; step++) {
+            for (int i = 0; i <= size / offset; i++) {
+                if (i == size / offset) last = PitchPanel.PIXEL_UNIT;
+
+                int side = i * offset - last;
+                boolean occupied;
+
+                switch (d) {
+                    case RIGHT: occupied = spatialHash.hasEntitiesOnPoint(x + size + step * offset, y + side); break;
+                    case LEFT: occupied = spatialHash.hasEntitiesOnPoint(x - first - step * offset, y + side); break;
+                    case UP: occupied = spatialHash.hasEntitiesOnPoint(x + side, y - first - step * offset); break;
+                    case DOWN: occupied = spatialHash.hasEntitiesOnPoint(x + side, y + size - 1 + first + step * offset); break;
+                    default: occupied = false;
+                }
+
+                if (occupied) return true;
+            }
+            first = 0;
+        }
+
+        return false;
+    }
+
     // returns a list of coordinates a certain number of steps away from the entity in a given direction, taking into account entity size
     protected List<Coordinates> getNewCoordinatesOnDirection(Direction d, int steps, int offset){
         List<Coordinates> desiredCoords = new ArrayList<>();
@@ -382,6 +538,16 @@ public abstract class Entity extends GameTickerObserver {
         return DrawPriority.DRAW_PRIORITY_1;
     }
 
+    /**
+     * Static geometry never moves nor changes its image, so it can be drawn once on the pitch background
+     * instead of on every frame.
+     *
+     * @return true if the entity is part of the static geometry of the pitch, false otherwise
+     */
+    public boolean isStaticGeometry() {
+        return false;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -461,6 +627,8 @@ public abstract class Entity extends GameTickerObserver {
      */
     protected final void removePassiveInteractionEntity(Class<? extends Entity> e) {
         passiveInteractionEntities.remove(e);
+        customPassiveInteractions = true;
+        passiveInteractionMask = null;
     }
 
     /**
@@ -470,6 +638,8 @@ public abstract class Entity extends GameTickerObserver {
      */
     protected final void addPassiveInteractionEntity(Class<? extends Entity> e) {
         passiveInteractionEntities.add(e);
+        customPassiveInteractions = true;
+        passiveInteractionMask = null;
     }
 
     /**
@@ -479,7 +649,34 @@ public abstract class Entity extends GameTickerObserver {
      * @return {@code true} if the entity can be interacted with, {@code false} otherwise.
      */
     protected final boolean canBeInteractedBy(Entity e) {
-        return e == null || passiveInteractionEntities.stream().anyMatch(c -> c.isInstance(e));
+        return e == null || canBeInteractedBy(e.typeId);
+    }
+
+    /**
+     * @return true if the entities of the type can interact with this one, e.g. the projectiles standing for them;
+     */
+    protected final boolean canBeInteractedBy(int typeId) {
+        return getPassiveInteractionMask().contains(typeId);
+    }
+
+    private TypeMask getPassiveInteractionMask() {
+        TypeMask mask = passiveInteractionMask;
+
+        if (mask == null || mask.isStale()) {
+            mask = customPassiveInteractions
+                    ? EntityTypes.getMask(passiveInteractionEntities)
+                    : EntityTypes.getClassMask(getClass(), EntityTypes.Kind.PASSIVE_INTERACTIONS, () -> passiveInteractionEntities);
+            passiveInteractionMask = mask;
+        }
+
+        return mask;
+    }
+
+    /**
+     * @return the id of the type of this entity, see EntityTypes;
+     */
+    public final int getTypeId() {
+        return typeId;
     }
 
     protected boolean canEntityInteractWithMouseDrag(){
@@ -522,7 +719,7 @@ public abstract class Entity extends GameTickerObserver {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Long.hashCode(id);
     }
 
     public void setAlpha(float alpha){
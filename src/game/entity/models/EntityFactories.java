@@ -0,0 +1,161 @@
+package game.entity.models;
+
+import game.entity.enemies.boss.clown.Clown;
+import game.entity.enemies.boss.ghost.GhostBoss;
+import game.entity.enemies.npcs.*;
+import game.powerups.*;
+import game.powerups.portal.EndLevelPortal;
+import game.powerups.portal.World1Portal;
+import game.powerups.portal.World2Portal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the factories of the entities created from their class, like the enemies of a level or the power ups
+ * of a block: the constructors are bound once at startup, so creating an entity doesn't look them up by reflection.
+ * Classes without a factory are still created by reflection.
+ * <p>
+ * The registry also counts the entities spawned of each type (see EntityTypes), for metrics.
+ */
+public final class EntityFactories {
+    // Factories of the entities created without coordinates, which choose their own
+    private static final Map<Class<? extends Entity>, Supplier<? extends Entity>> suppliers = new HashMap<>();
+    // Factories of the entities created on the given coordinates
+    private static final Map<Class<? extends Entity>, Function<Coordinates, ? extends Entity>> factories = new HashMap<>();
+    // Number of entities spawned, indexed by type id
+    private static long[] spawnCounts = new long[0];
+
+    static {
+        register(YellowBall.class, YellowBall::new);
+        register(FastEnemy.class, FastEnemy::new);
+        register(Helicopter.class, Helicopter::new);
+        register(Zombie.class, Zombie::new);
+        register(TankEnemy.class, TankEnemy::new);
+        register(Eagle.class, Eagle::new);
+        register(GhostEnemy.class, GhostEnemy::new);
+        register(Clown.class, Clown::new);
+        register(GhostBoss.class, GhostBoss::new);
+        register(World1Portal.class, World1Portal::new);
+        register(World2Portal.class, World2Portal::new);
+
+        registerWithCoordinates(ArmorPowerUp.class, ArmorPowerUp::new);
+        registerWithCoordinates(BlockMoverPowerUp.class, BlockMoverPowerUp::new);
+        registerWithCoordinates(EmptyPowerup.class, EmptyPowerup::new);
+        registerWithCoordinates(FirePowerUp.class, FirePowerUp::new);
+        registerWithCoordinates(Hammer.class, Hammer::new);
+        registerWithCoordinates(IncreaseMaxBombsPowerUp.class, IncreaseMaxBombsPowerUp::new);
+        registerWithCoordinates(LivesPowerUp.class, LivesPowerUp::new);
+        registerWithCoordinates(PistolPowerUp.class, PistolPowerUp::new);
+        registerWithCoordinates(RemoteControl.class, RemoteControl::new);
+        registerWithCoordinates(SpeedPowerUp.class, SpeedPowerUp::new);
+        registerWithCoordinates(TransparentBombsPowerUp.class, TransparentBombsPowerUp::new);
+        registerWithCoordinates(TransparentDestroyableBlocksPowerUp.class, TransparentDestroyableBlocksPowerUp::new);
+        registerWithCoordinates(EndLevelPortal.class, EndLevelPortal::new);
+    }
+
+    // Private constructor to prevent direct instantiation
+    private EntityFactories() {
+    }
+
+    public static synchronized <T extends Entity> void register(Class<T> clazz, Supplier<T> supplier) {
+        suppliers.put(clazz, supplier);
+    }
+
+    public static synchronized <T extends Entity> void registerWithCoordinates(Class<T> clazz, Function<Coordinates, T> factory) {
+        factories.put(clazz, factory);
+    }
+
+    /**
+     * Creates an entity with the constructor without arguments of its class.
+     *
+     * @param clazz the class of the entity
+     * @return the new entity, null if it can't be created
+     */
+    public static <T extends Entity> T create(Class<T> clazz) {
+        Supplier<? extends Entity> supplier;
+        synchronized (EntityFactories.class) {
+            supplier = suppliers.get(clazz);
+        }
+
+        if (supplier != null) {
+            return clazz.cast(supplier.get());
+        }
+
+        try {
+            return clazz.getConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
+                 NoSuchMethodException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Creates an entity on the given coordinates, with the constructor of its class taking them.
+     *
+     * @param clazz       the class of the entity
+     * @param coordinates the coordinates of the entity
+     * @return the new entity, null if it can't be created
+     */
+    public static <T extends Entity> T create(Class<T> clazz, Coordinates coordinates) {
+        Function<Coordinates, ? extends Entity> factory;
+        synchronized (EntityFactories.class) {
+            factory = factories.get(clazz);
+        }
+
+        if (factory != null) {
+            return clazz.cast(factory.apply(coordinates));
+        }
+
+        try {
+            return clazz.getConstructor(Coordinates.class).newInstance(coordinates);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
+                 NoSuchMethodException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Counts an entity that has been spawned.
+     *
+     * @param e the entity spawned
+     */
+    static synchronized void countSpawn(Entity e) {
+        int typeId = e.getTypeId();
+
+        if (typeId >= spawnCounts.length) {
+            spawnCounts = Arrays.copyOf(spawnCounts, Math.max(typeId + 1, spawnCounts.length * 2));
+        }
+
+        spawnCounts[typeId]++;
+    }
+
+    /**
+     * @return the number of entities of the class spawned since the start or the last reset;
+     */
+    public static synchronized long getSpawnCount(Class<? extends Entity> clazz) {
+        int typeId = EntityTypes.getTypeId(clazz);
+        return typeId < spawnCounts.length ? spawnCounts[typeId] : 0;
+    }
+
+    /**
+     * @return the number of entities spawned for each class with at least one, since the start or the last reset;
+     */
+    public static synchronized Map<Class<? extends Entity>, Long> getSpawnCounts() {
+        Map<Class<? extends Entity>, Long> counts = new LinkedHashMap<>();
+
+        for (int typeId = 0; typeId < spawnCounts.length; typeId++) {
+            if (spawnCounts[typeId] > 0) counts.put(EntityTypes.getType(typeId), spawnCounts[typeId]);
+        }
+
+        return counts;
+    }
+
+    public static synchronized void resetSpawnCounts() {
+        Arrays.fill(spawnCounts, 0);
+    }
+}
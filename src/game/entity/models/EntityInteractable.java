@@ -1,10 +1,9 @@
 package game.entity.models;
 
+import game.Bomberman;
 import game.entity.blocks.DestroyableBlock;
 import game.entity.blocks.HardBlock;
-import game.entity.bomb.AbstractExplosion;
 import game.entity.bomb.Bomb;
-import game.utils.Utility;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -20,7 +19,16 @@ import static game.ui.panels.game.PitchPanel.PIXEL_UNIT;
 public abstract class EntityInteractable extends Entity {
     public static final long SHOW_DEATH_PAGE_DELAY_MS = 2500;
     public final static long INTERACTION_DELAY_MS = 500;
+    private static final Set<Class<? extends Entity>> DEFAULT_OBSTACLES = Set.of(
+            HardBlock.class, Bomb.class, Enemy.class, DestroyableBlock.class, BomberEntity.class
+    );
+    // Reused by the movement, so checking the entities around a step doesn't allocate; one for each moving thread
+    private static final ThreadLocal<List<Entity>> nearbyEntities = ThreadLocal.withInitial(ArrayList::new);
     private final Set<Class<? extends Entity>> whitelistObstacles = new HashSet<>();
+    // Masks of the sets above, built when first needed (see EntityTypes)
+    private TypeMask obstaclesMask = null;
+    private TypeMask interactionsMask = null;
+    private TypeMask whitelistObstaclesMask = TypeMask.EMPTY;
     protected long lastInteractionTime = 0;
     protected long lastDamageTime = 0;
     private int attackDamage = 100;
@@ -56,7 +64,7 @@ public abstract class EntityInteractable extends Entity {
     }
 
     private synchronized void interactAndUpdateLastInteract(Entity e) {
-        if (Utility.timePassed(getLastInteraction(e)) < INTERACTION_DELAY_MS) {
+        if (Bomberman.getMatch().getClock().timePassed(getLastInteraction(e)) < INTERACTION_DELAY_MS) {
             return;
         }
         this.doInteract(e); // Interact with the entity.
@@ -65,7 +73,7 @@ public abstract class EntityInteractable extends Entity {
 
     public void updateLastInteract(Entity e) {
         if (e == null) return;
-        lastInteractionTime = System.currentTimeMillis();
+        lastInteractionTime = Bomberman.getMatch().getClock().millis();
     }
 
     public long getLastInteraction(Entity e) {
@@ -96,7 +104,14 @@ public abstract class EntityInteractable extends Entity {
     }
 
     public void move(Coordinates coordinates) {
-        setCoords(coordinates);
+        move(coordinates.getX(), coordinates.getY());
+    }
+
+    /**
+     * Moves the entity to the given top left corner, overridden to react to the movements.
+     */
+    protected void move(int x, int y) {
+        setPosition(x, y);
     }
 
     /**
@@ -109,32 +124,28 @@ public abstract class EntityInteractable extends Entity {
         if (d == null)
             return false;
 
-        Coordinates nextTopLeftCoords = Coordinates.nextCoords(getCoords(), d, stepSize);
+        // Until something is in the way, the step is checked on packed coordinates and nothing is allocated
+        long next = PackedCoordinates.nextCoords(getPosition(), d, stepSize);
+        int nextX = PackedCoordinates.getX(next);
+        int nextY = PackedCoordinates.getY(next);
 
-        if (!nextTopLeftCoords.validate(this)) {
+        if (!PackedCoordinates.validate(next, getSize())) {
             if (!ignoreMapBorders) {
                 this.interact(null);
                 return false;
             }
-        } else {
-            List<Coordinates> coordinatesInArea = Coordinates.getAllBlocksInAreaFromDirection(
-                    this,
-                    d,
-                    stepSize
-            );
-
-            boolean allEntitiesCanBeInteractedWith = coordinatesInArea.stream().allMatch(c ->
-                    Coordinates.getEntitiesOnBlock(c).stream().noneMatch(e ->
-                            canBeInteractedBy(e) || canInteractWith(e) || (isObstacle(e) && e != this)
-                    )
-            );
-
-            if (allEntitiesCanBeInteractedWith) {
-                move(nextTopLeftCoords);
-                return true;
-            }
+        } else if (isAreaFree(d, stepSize)) {
+            move(nextX, nextY);
+            return true;
+        }
+
+        // If there are no entities present in the next occupied coordinates, update the entity's position
+        if (!hasEntitiesOnNewCoordinates(d, stepSize, GRID_SIZE / 3 / 2)) {
+            move(nextX, nextY);
+            return true;
         }
 
+        Coordinates nextTopLeftCoords = PackedCoordinates.toCoordinates(next);
 
         // Get the coordinates of the next positions that will be occupied if the entity moves in a certain direction
         // with a given step size
@@ -143,12 +154,6 @@ public abstract class EntityInteractable extends Entity {
         // Get a list of entities that are present in the next occupied coordinates
         List<Entity> interactedEntities = getEntitiesOnCoordinates(nextOccupiedCoords);
 
-        // If there are no entities present in the next occupied coordinates, update the entity's position
-        if (interactedEntities.isEmpty()) {
-            move(nextTopLeftCoords);
-            return true;
-        }
-
         // Initialize a flag to indicate whether the entity can move
         boolean canMove = true;
 
@@ -170,10 +175,7 @@ public abstract class EntityInteractable extends Entity {
 
 
         // If the entity can move or it is immune to bombs, update the entity's position
-        //if the entity is instance of explosion, it'll be able to move further anyway but no more explosions will be generated in constructor
-        if (this instanceof AbstractExplosion && !canMove) {
-            ((AbstractExplosion) this).onObstacle(nextTopLeftCoords);
-        } else if (canMove) {
+        if (canMove) {
             move(nextTopLeftCoords);
         }
 
@@ -181,28 +183,144 @@ public abstract class EntityInteractable extends Entity {
         return canMove;
     }
 
+    /**
+     * Checks if none of the entities on the blocks of Coordinates.getAllBlocksInAreaFromDirection can interact
+     * with this entity or stop it, visiting the blocks one by one instead of building their list.
+     *
+     * @param d     the direction of the area
+     * @param depth the depth of the area, in blocks
+     * @return true if the entity can move in the area without interacting with anything
+     */
+    private boolean isAreaFree(Direction d, int depth) {
+        int x = getX();
+        int y = getY();
+        int size = getSize();
+        int left, top, right, bottom;
+
+        switch (d) {
+            case LEFT: left = x - GRID_SIZE * depth + 1; top = y; right = x + 1; bottom = y + size - 1; break;
+            case DOWN: left = x; top = y + size; right = x + size - 1; bottom = y + size + GRID_SIZE * depth - 1; break;
+            case UP: left = x - 1; top = y - (GRID_SIZE * depth - 1); right = x + size - 1; bottom = y - 1; break;
+            case RIGHT: left = x + size; top = y; right = x + size + GRID_SIZE * depth - 1; bottom = y + size - 1; break;
+            default: return false;
+        }
+
+        for (int blockX = PackedCoordinates.roundIntToGridSize(left); blockX <= PackedCoordinates.roundIntToGridSize(right); blockX += GRID_SIZE) {
+            for (int blockY = PackedCoordinates.roundIntToGridSize(top); blockY <= PackedCoordinates.roundIntToGridSize(bottom); blockY += GRID_SIZE) {
+                if (!isBlockFree(blockX, blockY)) return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if none of the entities on the block can interact with this entity or stop it.
+     *
+     * @param blockX the x of the top left corner of the block
+     * @param blockY the y of the top left corner of the block
+     * @return true if the block is free for this entity
+     */
+    protected boolean isBlockFree(int blockX, int blockY) {
+        List<Entity> entities = nearbyEntities.get();
+        Bomberman.getMatch().getSpatialHash().collectEntitiesInArea(blockX, blockY, GRID_SIZE, GRID_SIZE, entities);
+
+        try {
+            for (int i = 0; i < entities.size(); i++) {
+                Entity e = entities.get(i);
+
+                if (Coordinates.doesCollideWithBlock(blockX, blockY, e) && isInTheWay(e)) {
+                    return false;
+                }
+            }
+
+            return true;
+        } finally {
+            entities.clear();
+        }
+    }
+
+    /**
+     * Checks if the entity would interact with this entity or stop it, if this entity moved on it.
+     *
+     * @param e the entity to check
+     * @return true if the entity is in the way of this entity
+     */
+    protected boolean isInTheWay(Entity e) {
+        return canBeInteractedBy(e) || canInteractWith(e) || (isObstacle(e) && e != this);
+    }
+
+    @Override
+    protected void reset(Coordinates coordinates) {
+        super.reset(coordinates);
+        whitelistObstacles.clear();
+        whitelistObstaclesMask = TypeMask.EMPTY;
+        lastInteractionTime = 0;
+        lastDamageTime = 0;
+        attackDamage = 100;
+    }
+
     public void addWhiteListObstacle(Class<? extends Entity> clazz) {
         whitelistObstacles.add(clazz);
+        whitelistObstaclesMask = EntityTypes.getMask(whitelistObstacles);
     }
 
     public void removeWhiteListObstacle(Class<? extends Entity> clazz) {
         whitelistObstacles.remove(clazz);
+        whitelistObstaclesMask = whitelistObstacles.isEmpty() ? TypeMask.EMPTY : EntityTypes.getMask(whitelistObstacles);
     }
 
+    /**
+     * Gets the classes of the obstacles of this entity. They are read only once for each class (see EntityTypes),
+     * so all the instances of a class have to return the same ones.
+     *
+     * @return the classes of the obstacles
+     */
     public Set<Class<? extends Entity>> getObstacles() {
-        return new HashSet<>(Arrays.asList(HardBlock.class, Bomb.class, Enemy.class, DestroyableBlock.class, BomberEntity.class));
+        return DEFAULT_OBSTACLES;
     }
 
+    /**
+     * Gets the classes of the entities this entity interacts with. They are read only once for each class
+     * (see EntityTypes), so all the instances of a class have to return the same ones.
+     *
+     * @return the classes of the interaction entities
+     */
     public abstract Set<Class<? extends Entity>> getInteractionsEntities();
 
+    /**
+     * @return the mask of the types of the obstacles of this entity;
+     */
+    protected TypeMask getObstaclesMask() {
+        return EntityTypes.getClassMask(getClass(), EntityTypes.Kind.OBSTACLES, this::getObstacles);
+    }
+
+    /**
+     * @return the mask of the types of the entities this entity interacts with;
+     */
+    protected TypeMask getInteractionsMask() {
+        return EntityTypes.getClassMask(getClass(), EntityTypes.Kind.INTERACTIONS, this::getInteractionsEntities);
+    }
+
     public boolean isObstacle(Entity e) {
-        return e == null || getObstacles().stream().anyMatch(c -> c.isInstance(e)) && whitelistObstacles.stream().noneMatch(c -> c.isInstance(e));
+        if (e == null) return true;
+
+        TypeMask mask = obstaclesMask;
+        if (mask == null || mask.isStale()) obstaclesMask = mask = getObstaclesMask();
+
+        TypeMask whitelist = whitelistObstaclesMask;
+        if (whitelist.isStale()) whitelistObstaclesMask = whitelist = EntityTypes.getMask(whitelistObstacles);
+
+        return mask.contains(e.getTypeId()) && !whitelist.contains(e.getTypeId());
     }
 
     public boolean canInteractWith(Entity e) {
         if (e == null) return true;
 
-        return getInteractionsEntities().stream().anyMatch(c -> c.isInstance(e));
+        TypeMask mask = interactionsMask;
+        if (mask == null || mask.isStale()) interactionsMask = mask = getInteractionsMask();
+
+        return mask.contains(e.getTypeId());
     }
 
     public int getAttackDamage() {
@@ -0,0 +1,149 @@
+package game.entity.models;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pool of the instances of a class of short-lived entities, like the explosions and the orbs, which are created in
+ * bursts and despawned soon after. A pooled entity goes back to its pool when it is despawned (see Entity.getPool),
+ * and the pool hands it out again instead of a new one, reset to the state of a new entity (see Entity.reset).
+ * <p>
+ * A despawned entity can be acquired again only once no snapshot being drawn can contain it (see recycleAll), and it
+ * goes back to its pool at most once per generation, only from the game thread. The pool keeps at most maxSize free
+ * entities, the others are left to the garbage collector.
+ */
+public final class EntityPool<T extends Entity> {
+    // All the pools, for their statistics and to recycle their entities at every tick
+    private static final List<EntityPool<?>> pools = new CopyOnWriteArrayList<>();
+    private final Class<T> type;
+    private final int maxSize;
+    private final ArrayDeque<T> free = new ArrayDeque<>();
+    // Despawned entities, in release order, waiting for the snapshots which may contain them to be drawn
+    private final ArrayDeque<T> released = new ArrayDeque<>();
+    private long created = 0;
+    private long reused = 0;
+    private long dropped = 0;
+
+    public EntityPool(Class<T> type, int maxSize) {
+        this.type = type;
+        this.maxSize = maxSize;
+        pools.add(this);
+    }
+
+    /**
+     * Takes a free entity from the pool, which the caller resets before spawning it.
+     *
+     * @return the entity, null if the pool is empty and the caller has to create a new one
+     */
+    public synchronized T acquire() {
+        T e = free.poll();
+
+        if (e == null) {
+            created++;
+        } else {
+            reused++;
+        }
+
+        return e;
+    }
+
+    /**
+     * Gives back an entity that has been despawned, called by Entity.despawn on the game thread.
+     *
+     * @param e               the despawned entity
+     * @param snapshotVersion the version of the last snapshot published, which may still contain the entity
+     */
+    synchronized void release(Entity e, long snapshotVersion) {
+        // A spawned entity is still reachable, and an entity released twice would be handed out twice
+        if (e.isSpawned() || e.releasedGeneration == e.getGeneration()) return;
+
+        e.releasedGeneration = e.getGeneration();
+
+        if (free.size() + released.size() >= maxSize) {
+            dropped++;
+            return;
+        }
+
+        e.releasedSnapshotVersion = snapshotVersion;
+        released.add(type.cast(e));
+    }
+
+    /**
+     * Makes free the released entities which aren't in the snapshots that can still be drawn.
+     */
+    private synchronized void recycle(long oldestVisibleVersion) {
+        while (!released.isEmpty() && released.peek().releasedSnapshotVersion < oldestVisibleVersion) {
+            free.add(released.poll());
+        }
+    }
+
+    /**
+     * Makes free the entities released by all the pools which can't be drawn anymore, called at the start of every
+     * tick.
+     *
+     * @param oldestVisibleVersion the version of the oldest snapshot that is or can still be drawn, see
+     *                             BomberManMatch.getOldestVisibleSnapshotVersion
+     */
+    public static void recycleAll(long oldestVisibleVersion) {
+        for (EntityPool<?> pool : pools) {
+            pool.recycle(oldestVisibleVersion);
+        }
+    }
+
+    /**
+     * @return all the pools created;
+     */
+    public static List<EntityPool<?>> getPools() {
+        return Collections.unmodifiableList(pools);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return the number of entities that are free or will be from the next tick;
+     */
+    public synchronized int size() {
+        return free.size() + released.size();
+    }
+
+    /**
+     * @return the number of entities created because the pool was empty;
+     */
+    public synchronized long getCreated() {
+        return created;
+    }
+
+    /**
+     * @return the number of entities taken from the pool instead of being created;
+     */
+    public synchronized long getReused() {
+        return reused;
+    }
+
+    /**
+     * @return the number of entities despawned while the pool was full, left to the garbage collector;
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized void resetStatistics() {
+        created = 0;
+        reused = 0;
+        dropped = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s pool: %d created, %d reused, %d dropped, %d/%d free",
+                type.getSimpleName(), created, reused, dropped, size(), maxSize);
+    }
+}
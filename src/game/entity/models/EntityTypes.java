@@ -0,0 +1,156 @@
+package game.entity.models;
+
+import game.entity.Player;
+import game.entity.blocks.DestroyableBlock;
+import game.entity.blocks.InvisibleBlock;
+import game.entity.blocks.StoneBlock;
+import game.entity.bomb.Bomb;
+import game.entity.bomb.ConfettiExplosion;
+import game.entity.bomb.EnemyBomb;
+import game.entity.bomb.FireExplosion;
+import game.entity.bomb.PistolExplosion;
+import game.entity.bonus.mysterybox.MysteryBoxPerk;
+import game.entity.enemies.boss.clown.Clown;
+import game.entity.enemies.boss.clown.Hat;
+import game.entity.enemies.boss.ghost.GhostBoss;
+import game.entity.enemies.npcs.*;
+import game.powerups.*;
+import game.powerups.portal.EndLevelPortal;
+import game.powerups.portal.World1Portal;
+import game.powerups.portal.World2Portal;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the entity types: every concrete entity class gets a type id, and the sets of classes entities
+ * interact with (obstacles, interactions, passive interactions, explosions) are turned into TypeMasks of the ids
+ * of the classes they match, so an instanceof check against a whole set becomes a single bit test.
+ * <p>
+ * The known entity classes are registered at startup; a class showing up later gets its id when its first instance
+ * is created, and all the masks built until then become stale and are built again.
+ */
+public final class EntityTypes {
+    private static final Map<Class<?>, Integer> typeIds = new HashMap<>();
+    private static final List<Class<?>> types = new ArrayList<>();
+    // Masks of the classes of the entities (or explosives) owning them, one map for each kind of mask
+    private static final Map<Kind, Map<Class<?>, TypeMask>> classMasks = new EnumMap<>(Kind.class);
+    private static volatile int generation = 0;
+
+    public enum Kind {
+        OBSTACLES,
+        INTERACTIONS,
+        PASSIVE_INTERACTIONS,
+        EXPLOSION_OBSTACLES,
+        EXPLOSION_INTERACTIONS
+    }
+
+    static {
+        for (Kind kind : Kind.values()) {
+            classMasks.put(kind, new HashMap<>());
+        }
+
+        register(
+                Player.class,
+                StoneBlock.class, InvisibleBlock.class, DestroyableBlock.class,
+                Bomb.class, EnemyBomb.class, FireExplosion.class, PistolExplosion.class, ConfettiExplosion.class,
+                MysteryBoxPerk.class,
+                Clown.class, Hat.class, GhostBoss.class,
+                ClownNose.class, Eagle.class, FastEnemy.class, GhostEnemy.class, Helicopter.class, TankEnemy.class,
+                YellowBall.class, Zombie.class,
+                ArmorPowerUp.class, BlockMoverPowerUp.class, EmptyPowerup.class, FirePowerUp.class, Hammer.class,
+                IncreaseMaxBombsPowerUp.class, LivesPowerUp.class, PistolPowerUp.class, RemoteControl.class,
+                SpeedPowerUp.class, TransparentBombsPowerUp.class, TransparentDestroyableBlocksPowerUp.class,
+                EndLevelPortal.class, World1Portal.class, World2Portal.class
+        );
+    }
+
+    // Private constructor to prevent direct instantiation
+    private EntityTypes() {
+    }
+
+    @SafeVarargs
+    private static void register(Class<? extends Entity>... classes) {
+        for (Class<? extends Entity> clazz : classes) {
+            getTypeId(clazz);
+        }
+    }
+
+    /**
+     * Gets the type id of an entity class, registering the class if it is new.
+     *
+     * @param clazz the class of the entity
+     * @return the type id of the class
+     */
+    public static synchronized int getTypeId(Class<? extends Entity> clazz) {
+        Integer id = typeIds.get(clazz);
+        if (id != null) return id;
+
+        id = types.size();
+        typeIds.put(clazz, id);
+        types.add(clazz);
+
+        // The masks built so far don't know the new type
+        for (Map<Class<?>, TypeMask> masks : classMasks.values()) {
+            masks.clear();
+        }
+        generation++;
+
+        return id;
+    }
+
+    /**
+     * @return the entity class with the given type id;
+     */
+    @SuppressWarnings("unchecked")
+    public static synchronized Class<? extends Entity> getType(int typeId) {
+        return (Class<? extends Entity>) types.get(typeId);
+    }
+
+    static int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Builds the mask of the entity types that are instances of at least one of the given classes.
+     *
+     * @param classes the classes to match, also abstract ones
+     * @return the mask of the matching types
+     */
+    public static synchronized TypeMask getMask(Collection<Class<? extends Entity>> classes) {
+        long[] words = new long[(types.size() + 63) / 64];
+
+        for (int id = 0; id < types.size(); id++) {
+            for (Class<? extends Entity> clazz : classes) {
+                if (clazz.isAssignableFrom(types.get(id))) {
+                    words[id >>> 6] |= 1L << id;
+                    break;
+                }
+            }
+        }
+
+        return new TypeMask(words, generation);
+    }
+
+    /**
+     * Gets the mask of the given kind for all the instances of a class, building it only the first time.
+     * The classes are asked only when the mask isn't cached, so the same ones have to be returned by every
+     * instance of the owner class.
+     *
+     * @param owner   the class of the entity (or explosive) the mask belongs to
+     * @param kind    the kind of mask
+     * @param classes returns the classes matched by the mask
+     * @return the cached mask
+     */
+    public static synchronized TypeMask getClassMask(Class<?> owner, Kind kind, Supplier<? extends Collection<Class<? extends Entity>>> classes) {
+        Map<Class<?>, TypeMask> masks = classMasks.get(kind);
+        TypeMask mask = masks.get(owner);
+
+        if (mask == null) {
+            mask = getMask(classes.get());
+            masks.put(owner, mask);
+        }
+
+        return mask;
+    }
+}
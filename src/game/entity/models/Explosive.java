@@ -7,10 +7,24 @@ public interface Explosive {
     Set<Class<? extends Entity>> getExplosionObstacles();
 
     default boolean isObstacleOfExplosion(Entity e) {
-        return (e == null) || (getExplosionObstacles().stream().anyMatch(c -> c.isInstance(e)));
+        return (e == null) || getExplosionObstaclesMask().contains(e.getTypeId());
     }
 
     Set<Class<? extends Entity>> getExplosionInteractionEntities();
 
+    /**
+     * @return the mask of the types of the explosion obstacles, shared by all the explosives of the same class;
+     */
+    default TypeMask getExplosionObstaclesMask() {
+        return EntityTypes.getClassMask(getClass(), EntityTypes.Kind.EXPLOSION_OBSTACLES, this::getExplosionObstacles);
+    }
+
+    /**
+     * @return the mask of the types of the explosion interaction entities, shared by all the explosives of the same class;
+     */
+    default TypeMask getExplosionInteractionsMask() {
+        return EntityTypes.getClassMask(getClass(), EntityTypes.Kind.EXPLOSION_INTERACTIONS, this::getExplosionInteractionEntities);
+    }
+
     int getMaxExplosionDistance();
 }
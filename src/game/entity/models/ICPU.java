@@ -4,4 +4,9 @@ public interface ICPU {
     Direction chooseDirection(boolean forceChange);
 
     void changeDirection();
+
+    /**
+     * Chooses the direction of the next update in the decision phase of the tick, see DecisionPhase.
+     */
+    void decide();
 }
@@ -0,0 +1,124 @@
+package game.entity.models;
+
+import game.ui.panels.game.PitchPanel;
+
+import java.awt.*;
+
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * Coordinates packed in a long, the x in the high 32 bits and the y in the low ones, with static helpers mirroring
+ * the ones of Coordinates. Hot-path geometry works on them without allocating anything, and entity positions are
+ * stored this way so they can be copied and compared as plain values; the Coordinates object is built only where
+ * it is needed by the rest of the API.
+ */
+public final class PackedCoordinates {
+    // Private constructor to prevent direct instantiation
+    private PackedCoordinates() {
+    }
+
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static long pack(Coordinates coordinates) {
+        return pack(coordinates.getX(), coordinates.getY());
+    }
+
+    public static int getX(long coordinates) {
+        return (int) (coordinates >> 32);
+    }
+
+    public static int getY(long coordinates) {
+        return (int) coordinates;
+    }
+
+    public static Coordinates toCoordinates(long coordinates) {
+        return new Coordinates(getX(coordinates), getY(coordinates));
+    }
+
+    public static long plus(long coordinates, int x, int y) {
+        return pack(getX(coordinates) + x, getY(coordinates) + y);
+    }
+
+    /**
+     * Gets the next coordinates in the given direction and with the given step size, see Coordinates.nextCoords.
+     *
+     * @return the next packed coordinates
+     */
+    public static long nextCoords(long coordinates, Direction d, int stepSize) {
+        switch (d) {
+            case RIGHT:
+                return plus(coordinates, stepSize, 0);
+            case LEFT:
+                return plus(coordinates, -stepSize, 0);
+            case UP:
+                return plus(coordinates, 0, -stepSize);
+            case DOWN:
+                return plus(coordinates, 0, stepSize);
+        }
+
+        return coordinates;
+    }
+
+    /**
+     * Rounds the coordinates to the top left corner of their block, see Coordinates.roundCoordinates.
+     *
+     * @return the packed coordinates of the block;
+     */
+    public static long roundCoordinates(long coordinates) {
+        return roundCoordinates(coordinates, 0, 0);
+    }
+
+    public static long roundCoordinates(long coordinates, int offsetX, int offsetY) {
+        return pack(roundIntToGridSize(getX(coordinates)) + offsetX, roundIntToGridSize(getY(coordinates)) + offsetY);
+    }
+
+    public static int roundIntToGridSize(int p) {
+        return p / GRID_SIZE * GRID_SIZE;
+    }
+
+    /**
+     * @return the packed coordinates of the center of an entity of the given size;
+     */
+    public static long getCenterCoordinates(long topLeft, int size) {
+        return plus(topLeft, size / 2, size / 2);
+    }
+
+    /**
+     * Checks whether an entity of the given size with its top left corner on the coordinates is inside the pitch.
+     *
+     * @return true if valid, false otherwise;
+     */
+    public static boolean validate(long coordinates, int size) {
+        Dimension dimension = PitchPanel.DIMENSION;
+        int x = getX(coordinates);
+        int y = getY(coordinates);
+
+        return y >= 0 && y <= dimension.height - size && x >= 0 && x <= dimension.width - size;
+    }
+
+    /**
+     * @return true if the point is inside the square with the given top left corner and size;
+     */
+    public static boolean contains(long topLeft, int size, long point) {
+        int x = getX(point);
+        int y = getY(point);
+
+        return x >= getX(topLeft) && x <= getX(topLeft) + size - 1 && y >= getY(topLeft) && y <= getY(topLeft) + size - 1;
+    }
+
+    /**
+     * @return true if the two squares with the given top left corners and sizes overlap;
+     */
+    public static boolean overlaps(long topLeft1, int size1, long topLeft2, int size2) {
+        return getX(topLeft1) <= getX(topLeft2) + size2 - 1 && getX(topLeft2) <= getX(topLeft1) + size1 - 1
+                && getY(topLeft1) <= getY(topLeft2) + size2 - 1 && getY(topLeft2) <= getY(topLeft1) + size1 - 1;
+    }
+
+    public static double distance(long coordinates1, long coordinates2) {
+        long dx = getX(coordinates1) - getX(coordinates2);
+        long dy = getY(coordinates1) - getY(coordinates2);
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,88 @@
+package game.entity.models;
+
+import game.entity.enemies.npcs.ClownNose;
+import game.entity.enemies.npcs.Orb;
+import game.sound.SoundModel;
+import game.utils.Paths;
+
+import static game.ui.panels.game.PitchPanel.PIXEL_UNIT;
+
+/**
+ * The kinds of projectiles of the ProjectileSystem, with what all the projectiles of a kind share: their sprite,
+ * size and speed, the damage they deal and the entity class they stand for, which decides what they can hit, which
+ * explosions destroy them and whether they count as enemies, like for the entities of that class.
+ */
+public enum ProjectileKind {
+    CLOWN_NOSE(ClownNose.class, Paths.getEnemiesFolder() + "/clown/clown_orb.png", Orb.SIZE, 20, 10000, 100, SoundModel.CLOWN_NOSE_DEATH);
+
+    private final int typeId;
+    private final String imagePath;
+    private final int size;
+    private final long delayMs;
+    private final long lifetimeMs;
+    private final int damage;
+    private final SoundModel deathSound;
+    private final boolean enemy;
+
+    /**
+     * @param type       the entity class the projectiles stand for
+     * @param imagePath  the sprite of the projectiles
+     * @param size       the size of the projectiles
+     * @param delayMs    the time between two steps of a projectile, like the update delay of an entity
+     * @param lifetimeMs the time after which a projectile is removed, if it's still on the pitch
+     * @param damage     the damage dealt to the characters hit
+     * @param deathSound the sound played when the projectiles are destroyed, or null
+     */
+    ProjectileKind(Class<? extends Entity> type, String imagePath, int size, long delayMs, long lifetimeMs, int damage, SoundModel deathSound) {
+        this.typeId = EntityTypes.getTypeId(type);
+        this.imagePath = imagePath;
+        this.size = size;
+        this.delayMs = delayMs;
+        this.lifetimeMs = lifetimeMs;
+        this.damage = damage;
+        this.deathSound = deathSound;
+        this.enemy = Enemy.class.isAssignableFrom(type);
+    }
+
+    public int getTypeId() {
+        return typeId;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the pixels covered by a step, on each axis;
+     */
+    public int getStepSize() {
+        return PIXEL_UNIT;
+    }
+
+    public long getDelayMs() {
+        return delayMs;
+    }
+
+    public long getLifetimeMs() {
+        return lifetimeMs;
+    }
+
+    public int getDamage() {
+        return damage;
+    }
+
+    public SoundModel getDeathSound() {
+        return deathSound;
+    }
+
+    /**
+     * @return true if the projectiles stand for enemies, which are counted in the enemies alive of the match;
+     */
+    public boolean isEnemy() {
+        return enemy;
+    }
+}
@@ -0,0 +1,289 @@
+package game.entity.models;
+
+import game.BomberManMatch;
+import game.data.EntitySpatialHash;
+import game.entity.bomb.AbstractExplosion;
+import game.events.EnemyDespawnedGameEvent;
+import game.sound.AudioManager;
+import game.tasks.GameClock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The projectiles of the match, e.g. the orbs thrown by the bosses, which fly in a straight line and only hit what
+ * they meet, so they don't need to be entities: their positions, directions, kinds (see ProjectileKind) and times are
+ * kept in arrays of primitives, and they are all moved in one loop per tick by the GameTickerObservable, checked
+ * against the EntitySpatialHash. A projectile is removed when it leaves the pitch, when its lifetime ends or when it
+ * meets an explosion which would destroy the entity it stands for; the characters it meets are damaged, if they
+ * can be interacted with by that entity.
+ * <p>
+ * The projectiles of the kinds standing for enemies are counted in the enemies alive of the match, like the
+ * entities were, and their removal is reported like the despawn of an enemy.
+ * <p>
+ * The rendering draws the projectiles in a batch, from the snapshot published at the end of each tick.
+ * <p>
+ * The flames of the explosions are not projectiles: they don't fly, they are spread in one go by the ExplosionEngine
+ * through the interactions of the entities, destroying blocks and chaining bombs, and they are already pooled.
+ */
+public class ProjectileSystem {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final ProjectileKind[] KINDS = ProjectileKind.values();
+    private final BomberManMatch match;
+    private final EntitySpatialHash spatialHash;
+    private final GameClock clock;
+    private int count = 0;
+    private int[] x = new int[INITIAL_CAPACITY];
+    private int[] y = new int[INITIAL_CAPACITY];
+    // The direction of each projectile, as the pixels it covers on each axis with a step of size 1
+    private int[] dx = new int[INITIAL_CAPACITY];
+    private int[] dy = new int[INITIAL_CAPACITY];
+    private int[] kinds = new int[INITIAL_CAPACITY];
+    private long[] lastSteps = new long[INITIAL_CAPACITY];
+    private long[] deathTimes = new long[INITIAL_CAPACITY];
+    private final List<Entity> found = new ArrayList<>();
+    // The characters hit in the tick with their damage, applied once the hash isn't locked anymore
+    private final List<Character> hitCharacters = new ArrayList<>();
+    private int[] hitDamages = new int[INITIAL_CAPACITY];
+    // The kinds with projectiles destroyed in the tick, whose sound is played once
+    private final boolean[] destroyedKinds = new boolean[KINDS.length];
+    // The projectiles standing for enemies removed in the tick, reported once the hash isn't locked anymore
+    private int removedEnemies = 0;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * The projectiles as they were at the end of a tick, read by the rendering.
+     */
+    public static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(0, new int[0], new int[0], new int[0]);
+        private final int size;
+        private final int[] x;
+        private final int[] y;
+        private final int[] kinds;
+
+        private Snapshot(int size, int[] x, int[] y, int[] kinds) {
+            this.size = size;
+            this.x = x;
+            this.y = y;
+            this.kinds = kinds;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int getX(int i) {
+            return x[i];
+        }
+
+        public int getY(int i) {
+            return y[i];
+        }
+
+        public ProjectileKind getKind(int i) {
+            return KINDS[kinds[i]];
+        }
+    }
+
+    public ProjectileSystem(BomberManMatch match, EntitySpatialHash spatialHash, GameClock clock) {
+        this.match = match;
+        this.spatialHash = spatialHash;
+        this.clock = clock;
+    }
+
+    /**
+     * Fires a projectile from the given coordinates, which takes its first step in the next tick.
+     *
+     * @param kind        the kind of the projectile
+     * @param coordinates the top left corner of the projectile
+     * @param direction   the direction of the projectile
+     */
+    public void fire(ProjectileKind kind, Coordinates coordinates, Direction direction) {
+        long unit = PackedCoordinates.nextCoords(PackedCoordinates.pack(0, 0), direction, 1);
+        add(kind, coordinates, PackedCoordinates.getX(unit), PackedCoordinates.getY(unit));
+    }
+
+    /**
+     * Fires a projectile from the given coordinates, which moves on both the directions of the enhanced one at every
+     * step, like an orb.
+     *
+     * @param kind        the kind of the projectile
+     * @param coordinates the top left corner of the projectile
+     * @param direction   the direction of the projectile
+     */
+    public void fire(ProjectileKind kind, Coordinates coordinates, EnhancedDirection direction) {
+        long unit = PackedCoordinates.pack(0, 0);
+        for (Direction d : direction.toDirection()) {
+            unit = PackedCoordinates.nextCoords(unit, d, 1);
+        }
+
+        add(kind, coordinates, PackedCoordinates.getX(unit), PackedCoordinates.getY(unit));
+    }
+
+    private synchronized void add(ProjectileKind kind, Coordinates coordinates, int unitX, int unitY) {
+        if (count == x.length) grow();
+
+        long now = clock.millis();
+        x[count] = coordinates.getX();
+        y[count] = coordinates.getY();
+        dx[count] = unitX;
+        dy[count] = unitY;
+        kinds[count] = kind.ordinal();
+        lastSteps[count] = now;
+        deathTimes[count] = now + kind.getLifetimeMs();
+        count++;
+
+        if (kind.isEnemy()) match.increaseEnemiesAlive();
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        dx = Arrays.copyOf(dx, capacity);
+        dy = Arrays.copyOf(dy, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        lastSteps = Arrays.copyOf(lastSteps, capacity);
+        deathTimes = Arrays.copyOf(deathTimes, capacity);
+    }
+
+    /**
+     * Moves the projectiles due to take a step, called by the GameTickerObservable at every tick of the running game.
+     */
+    public void update() {
+        synchronized (this) {
+            step(clock.millis());
+        }
+
+        // Damaging a character may despawn entities, so the hits are applied without holding any lock
+        for (int i = 0; i < hitCharacters.size(); i++) {
+            hitCharacters.get(i).attackReceived(hitDamages[i]);
+        }
+        hitCharacters.clear();
+
+        int removed;
+        synchronized (this) {
+            removed = removedEnemies;
+            removedEnemies = 0;
+        }
+
+        // Like the despawns of as many enemies, the last of which may end the level
+        if (removed > 0) {
+            for (int i = 0; i < removed; i++) {
+                match.decreaseEnemiesAlive();
+            }
+
+            new EnemyDespawnedGameEvent().invoke(null);
+        }
+
+        for (int i = 0; i < destroyedKinds.length; i++) {
+            if (!destroyedKinds[i]) continue;
+
+            destroyedKinds[i] = false;
+            if (KINDS[i].getDeathSound() != null) AudioManager.getInstance().play(KINDS[i].getDeathSound());
+        }
+    }
+
+    private void step(long now) {
+        synchronized (spatialHash) {
+            // Backwards, since a removed projectile is replaced by the last one, which has already taken its step
+            for (int i = count - 1; i >= 0; i--) {
+                ProjectileKind kind = KINDS[kinds[i]];
+
+                if (now >= deathTimes[i]) {
+                    remove(i);
+                    continue;
+                }
+
+                if (now - lastSteps[i] < kind.getDelayMs()) continue;
+                lastSteps[i] = now;
+
+                int nextX = x[i] + dx[i] * kind.getStepSize();
+                int nextY = y[i] + dy[i] * kind.getStepSize();
+
+                if (!PackedCoordinates.validate(PackedCoordinates.pack(nextX, nextY), kind.getSize()) || !hit(kind, nextX, nextY)) {
+                    destroyedKinds[kind.ordinal()] = true;
+                    remove(i);
+                    continue;
+                }
+
+                x[i] = nextX;
+                y[i] = nextY;
+            }
+        }
+    }
+
+    /**
+     * Finds the entities met by a projectile on the given coordinates, adding the characters it damages to the hits.
+     *
+     * @return false if an explosion destroys the projectile;
+     */
+    private boolean hit(ProjectileKind kind, int projectileX, int projectileY) {
+        found.clear();
+        spatialHash.collectEntitiesInArea(projectileX, projectileY, kind.getSize(), kind.getSize(), found);
+
+        for (int i = 0; i < found.size(); i++) {
+            Entity e = found.get(i);
+
+            if (e instanceof AbstractExplosion) {
+                if (((AbstractExplosion) e).getExplosive().getExplosionInteractionsMask().contains(kind.getTypeId())) return false;
+            } else if (e instanceof Character && !e.isImmune() && e.canBeInteractedBy(kind.getTypeId())) {
+                if (hitCharacters.size() == hitDamages.length) hitDamages = Arrays.copyOf(hitDamages, hitDamages.length * 2);
+
+                hitDamages[hitCharacters.size()] = kind.getDamage();
+                hitCharacters.add((Character) e);
+            }
+        }
+
+        return true;
+    }
+
+    private void remove(int i) {
+        if (KINDS[kinds[i]].isEnemy()) removedEnemies++;
+
+        int last = --count;
+
+        x[i] = x[last];
+        y[i] = y[last];
+        dx[i] = dx[last];
+        dy[i] = dy[last];
+        kinds[i] = kinds[last];
+        lastSteps[i] = lastSteps[last];
+        deathTimes[i] = deathTimes[last];
+    }
+
+    /**
+     * Publishes the current projectiles for the rendering, called by the game thread at the end of each tick.
+     */
+    public synchronized void publishSnapshot() {
+        snapshot = count == 0 ? Snapshot.EMPTY : new Snapshot(count,
+                Arrays.copyOf(x, count), Arrays.copyOf(y, count), Arrays.copyOf(kinds, count));
+    }
+
+    /**
+     * @return the projectiles as they were at the end of the last tick;
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return the number of projectiles on the pitch;
+     */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Removes all the projectiles at once, without reporting them as despawned enemies.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < count; i++) {
+            if (KINDS[kinds[i]].isEnemy()) match.decreaseEnemiesAlive();
+        }
+
+        count = 0;
+        snapshot = Snapshot.EMPTY;
+    }
+}
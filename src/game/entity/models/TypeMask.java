@@ -0,0 +1,32 @@
+package game.entity.models;
+
+/**
+ * Immutable set of entity type ids (see EntityTypes), stored as a bitmask so checking whether an entity belongs to it
+ * is a single bit test.
+ */
+public final class TypeMask {
+    public static final TypeMask EMPTY = new TypeMask(new long[0], -1);
+    private final long[] words;
+    private final int generation;
+
+    TypeMask(long[] words, int generation) {
+        this.words = words;
+        this.generation = generation;
+    }
+
+    public boolean contains(int typeId) {
+        int word = typeId >>> 6;
+        return word < words.length && (words[word] & (1L << typeId)) != 0;
+    }
+
+    public boolean contains(Entity e) {
+        return contains(e.getTypeId());
+    }
+
+    /**
+     * @return true if entity types have been added after the mask was built, so it has to be built again;
+     */
+    public boolean isStale() {
+        return this != EMPTY && generation != EntityTypes.getGeneration();
+    }
+}
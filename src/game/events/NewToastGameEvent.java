@@ -8,7 +8,8 @@ import static game.sound.SoundModel.BONUS_ALERT;
 public class NewToastGameEvent implements GameEvent {
     @Override
     public void invoke(Object arg) {
-        Bomberman.getBombermanFrame().getParentPanel().repaint();
+        if (!Bomberman.isHeadless())
+            Bomberman.getBombermanFrame().getParentPanel().repaint();
         if ((boolean) arg) {
             AudioManager.getInstance().play(BONUS_ALERT);
         }
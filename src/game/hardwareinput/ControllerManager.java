@@ -5,8 +5,8 @@ import game.data.DataInputOutput;
 import game.entity.Player;
 import game.entity.models.Entity;
 import game.events.Observable2;
+import game.tasks.GameClock;
 import game.tasks.PeriodicTask;
-import game.utils.Utility;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
@@ -81,9 +81,8 @@ public class ControllerManager extends Observable2 implements KeyListener {
         // if a button is pressed, mouse movement gets interrupted
         Bomberman.getMatch().getMouseControllerManager().stopPeriodicTask();
 
-        // Ignore the event if the time elapsed since the last event is less than KEY_DELAY_MS
         if (action != null && player != null) {
-            commandEventsTime.put(action, System.currentTimeMillis());
+            commandEventsTime.put(action, Bomberman.getMatch().getClock().millis());
             player.getCommandQueue().add(action);
         }
 
@@ -98,7 +97,11 @@ public class ControllerManager extends Observable2 implements KeyListener {
     @Override
     public void keyPressed(KeyEvent e) {
         Command action = keyAssignment.get(e.getKeyCode());
-        if (Utility.timePassed(commandEventsTime.getOrDefault(action, 0L)) < KEY_DELAY_MS)
+        GameClock clock = Bomberman.getMatch().getClock();
+
+        // Ignore the event if the game time elapsed since the last event is less than KEY_DELAY_MS.
+        // The game time is frozen while paused, so the delay can't apply there (e.g. to resume the game)
+        if (clock.isRunning() && clock.timePassed(commandEventsTime.getOrDefault(action, 0L)) < KEY_DELAY_MS)
             return;
 
         onKeyPressed(action);
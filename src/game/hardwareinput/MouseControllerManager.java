@@ -5,6 +5,7 @@ import game.entity.Player;
 import game.entity.models.Coordinates;
 import game.entity.models.Direction;
 import game.entity.models.Entity;
+import game.tasks.GameLoop;
 import game.tasks.PeriodicTask;
 
 import java.awt.event.MouseAdapter;
@@ -188,7 +189,9 @@ public class MouseControllerManager extends MouseAdapter implements MouseMotionL
         isMouseDragged = true;
         mouseCoords = new Coordinates(event.getX(), event.getY());
         if (entity == null) return;
-        entity.mouseInteractions();
+
+        Entity draggedEntity = entity;
+        GameLoop.getInstance().post(draggedEntity::mouseInteractions);
     }
 
     public Entity getEntity() {
@@ -4,7 +4,6 @@ import game.Bomberman;
 import game.entity.bomb.Bomb;
 import game.events.UpdateCurrentAvailableBombsEvent;
 import game.utils.Paths;
-import game.utils.Utility;
 
 
 public class BombItem extends UsableItem {
@@ -24,11 +23,11 @@ public class BombItem extends UsableItem {
             return;
         }
 
-        if (Utility.timePassed(owner.getLastPlacedBombTime()) < Bomb.PLACE_INTERVAL) {
+        if (Bomberman.getMatch().getClock().timePassed(owner.getLastPlacedBombTime()) < Bomb.PLACE_INTERVAL) {
             return;
         }
 
-        owner.setLastPlacedBombTime(System.currentTimeMillis());
+        owner.setLastPlacedBombTime(Bomberman.getMatch().getClock().millis());
         owner.setPlacedBombs(owner.getPlacedBombs() + 1);
         owner.setBombsSolid(false);
 
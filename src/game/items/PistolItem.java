@@ -1,5 +1,6 @@
 package game.items;
 
+import game.Bomberman;
 import game.entity.blocks.DestroyableBlock;
 import game.entity.blocks.HardBlock;
 import game.entity.bomb.AbstractExplosion;
@@ -12,7 +13,6 @@ import game.entity.models.Explosive;
 import game.sound.AudioManager;
 import game.sound.SoundModel;
 import game.utils.Paths;
-import game.utils.Utility;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -43,14 +43,14 @@ public class PistolItem extends UsableItem implements Explosive {
 
     @Override
     public void use() {
-        if (Utility.timePassed(owner.getLastPlacedBombTime()) < Bomb.PLACE_INTERVAL) {
+        if (Bomberman.getMatch().getClock().timePassed(owner.getLastPlacedBombTime()) < Bomb.PLACE_INTERVAL) {
             return;
         }
 
-        owner.setLastPlacedBombTime(System.currentTimeMillis());
+        owner.setLastPlacedBombTime(Bomberman.getMatch().getClock().millis());
         bullets--;
 
-        AbstractExplosion explosion = new PistolExplosion(
+        AbstractExplosion explosion = PistolExplosion.acquire(
                 getOwner(),
                 Coordinates.nextCoords(owner.getCoords(), owner.getCurrDirection(), SIZE),
                 getOwner().getCurrDirection(),
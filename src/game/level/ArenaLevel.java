@@ -13,7 +13,7 @@ import game.localization.Localization;
 import game.powerups.*;
 import game.ui.viewelements.misc.ToastHandler;
 
-import javax.swing.*;
+import java.awt.*;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -32,8 +32,8 @@ public abstract class ArenaLevel extends Level {
     public abstract Class<? extends Enemy>[] getSpecialRoundEnemies();
 
     @Override
-    public void start(JPanel jPanel) {
-        super.start(jPanel);
+    public void start(Dimension pitchSize) {
+        super.start(pitchSize);
         if(currentRound.get() == 1) {
             firstStart();
         }
@@ -84,14 +84,11 @@ public abstract class ArenaLevel extends Level {
 
     @Override
     public void onAllEnemiesEliminated() {
-        Timer t = new Timer(ARENA_ROUND_LOADING_TIMER, e -> {
+        Bomberman.getMatch().getScheduler().schedule(() -> {
             Entity player = Bomberman.getMatch().getPlayer();
             if(player != null && player.isSpawned())
                 startLevel();
-        });
-
-        t.setRepeats(false);
-        t.start();
+        }, ARENA_ROUND_LOADING_TIMER);
     }
 
     @Override
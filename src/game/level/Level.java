@@ -11,6 +11,7 @@ import game.entity.models.BomberEntity;
 import game.entity.models.Coordinates;
 import game.entity.models.Enemy;
 import game.entity.models.Entity;
+import game.entity.models.EntityFactories;
 import game.events.AllEnemiesEliminatedGameEvent;
 import game.events.UpdateCurrentAvailableBombsEvent;
 import game.level.world1.*;
@@ -22,10 +23,8 @@ import game.utils.Paths;
 import game.utils.Utility;
 
 import javax.sound.sampled.Clip;
-import javax.swing.*;
 import java.awt.*;
 import java.io.InputStream;
-import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 import java.util.List;
 
@@ -137,14 +136,14 @@ public abstract class Level {
     /**
      * Starts the game level by generating the terrain and adding the player character to the game panel.
      *
-     * @param jPanel the panel on which to start the game level
+     * @param pitchSize the size of the pitch on which to start the game level
      */
-    public void start(JPanel jPanel) {
+    public void start(Dimension pitchSize) {
         updateLastLevel();
         playSoundTrack();
         Bomberman.getMatch().setGameState(true);
         DataInputOutput.getInstance().resetLivesIfNecessary();
-        generateEntities(jPanel);
+        generateEntities(pitchSize);
         playLevelSound();
     }
 
@@ -153,8 +152,8 @@ public abstract class Level {
         AudioManager.getInstance().playBackgroundSong(getLevelSoundtrack());
     }
 
-    public void generateEntities(JPanel jPanel) {
-        generateStone(jPanel);
+    public void generateEntities(Dimension pitchSize) {
+        generateStone(pitchSize);
         generatePlayer();
         startLevel();
     }
@@ -195,17 +194,11 @@ public abstract class Level {
             // Select a random enemy class from the availableEnemies array.
             Class<? extends Enemy> enemyClass = availableEnemies[new Random().nextInt(availableEnemies.length)];
 
-            // Create an instance of the enemy class using a constructor that takes a Coordinates object as an argument.
-            Enemy enemy;
-            try {
-                enemy = enemyClass.getConstructor().newInstance();
+            // Create an instance of the enemy class, which chooses its own coordinates.
+            Enemy enemy = EntityFactories.create(enemyClass);
 
-                // Spawn the enemy on the game board.
-                enemy.spawn(false, false);
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                     NoSuchMethodException e) {
-                e.printStackTrace();
-            }
+            // Spawn the enemy on the game board.
+            if (enemy != null) enemy.spawn(false, false);
         }
     }
 
@@ -225,16 +218,16 @@ public abstract class Level {
     /**
      * Generates the stone blocks in the game board for level 1.
      *
-     * @param jPanel the JPanel where the stone blocks are to be placed.
+     * @param pitchSize the size of the pitch where the stone blocks are to be placed.
      */
-    public void generateStone(JPanel jPanel) {
+    public void generateStone(Dimension pitchSize) {
         // Set the current x and y coordinates to the top-left corner of the game board.
         int currX = 0;
         int currY = GRID_SIZE;
 
         // Loop through the game board, adding stone blocks at every other grid position.
-        while (currY < jPanel.getPreferredSize().getHeight() - GRID_SIZE) {
-            while (currX < jPanel.getPreferredSize().getWidth() - GRID_SIZE && currX + GRID_SIZE * 2 <= jPanel.getPreferredSize().getWidth()) {
+        while (currY < pitchSize.getHeight() - GRID_SIZE) {
+            while (currX < pitchSize.getWidth() - GRID_SIZE && currX + GRID_SIZE * 2 <= pitchSize.getWidth()) {
                 // Move the current x coordinate to the next grid position.
                 currX += GRID_SIZE;
 
@@ -338,7 +331,12 @@ public abstract class Level {
         while (i < getMaxDestroyableBlocks()) {
             // If the current destroyable block has not been spawned, generate new coordinates for it and spawn it on the game board.
             if (!block.isSpawned()) {
-                block.setCoords(Coordinates.generateCoordinatesAwayFrom(Bomberman.getMatch().getPlayer().getCoords(), GRID_SIZE * 2));
+                Coordinates coords = Coordinates.generateCoordinatesAwayFrom(Bomberman.getMatch().getPlayer().getCoords(), GRID_SIZE * 2);
+
+                // No free block is left away from the player, so no more destroyable blocks fit on the pitch
+                if (coords == null) break;
+
+                block.setCoords(coords);
                 block.spawn();
 
                 // Force the first spawned block to have the End level portal
@@ -5,6 +5,7 @@ import game.entity.blocks.InvisibleBlock;
 import game.entity.enemies.boss.Boss;
 import game.entity.models.Coordinates;
 import game.entity.models.Enemy;
+import game.entity.models.EntityFactories;
 import game.localization.Localization;
 import game.powerups.portal.Portal;
 import game.powerups.portal.World1Portal;
@@ -12,9 +13,7 @@ import game.powerups.portal.World2Portal;
 import game.powerups.portal.WorldPortal;
 import game.ui.panels.game.PitchPanel;
 
-import javax.swing.*;
 import java.awt.*;
-import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -123,7 +122,7 @@ public class WorldSelectorLevel extends StoryLevel {
     }
 
     @Override
-    public void generateEntities(JPanel jPanel) {
+    public void generateEntities(Dimension pitchSize) {
         generateInvisibleBlock();
         generatePlayer();
         generatePortals();
@@ -138,13 +137,8 @@ public class WorldSelectorLevel extends StoryLevel {
                 .collect(Collectors.toList());
 
         worldPortals.forEach(e -> {
-            try {
-                Portal p = e.getConstructor().newInstance();
-                p.spawn(true, false);
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                     NoSuchMethodException instantiationException) {
-                instantiationException.printStackTrace();
-            }
+            Portal p = EntityFactories.create(e);
+            if (p != null) p.spawn(true, false);
         });
     }
 
@@ -1,6 +1,5 @@
 package game.powerups;
 
-import game.BomberManMatch;
 import game.Bomberman;
 import game.entity.Player;
 import game.entity.models.Character;
@@ -71,35 +70,29 @@ public abstract class PowerUp extends EntityInteractable {
         this.character = entity;
         this.doApply(entity);
 
-        var matchPanel = Bomberman.getBombermanFrame().getMatchPanel();
         AudioManager.getInstance().play(SoundModel.POWERUP);
         entity.getActivePowerUps().add(this.getClass());
-
-        if (isDisplayable())
-            matchPanel.refreshPowerUps(entity.getActivePowerUps());
+        refreshPowerUps(entity);
 
         int duration = getDuration() * 1000;
-        // If the power-up has a duration, schedule a TimerTask to cancel it when the duration is up
+        // If the power-up has a duration, schedule a task to cancel it when the duration is up.
+        // The task is frozen while the game is paused and dropped with the match
         if (duration <= 0) {
             return;
         }
 
-        PowerUp thisPowerUp = this;
-        TimerTask task = new TimerTask() {
-            public void run() {
-                BomberManMatch match = Bomberman.getMatch();
-                if (match == null || !match.getGameState()) {
-                    return;
-                }
-                entity.removeActivePowerUp(thisPowerUp);
-                if (isDisplayable())
-                    matchPanel.refreshPowerUps(entity.getActivePowerUps());
-                PowerUp.this.cancel(entity);
-            }
-        };
-
-        Timer timer = new Timer();
-        timer.schedule(task, duration);
+        Bomberman.getMatch().getScheduler().schedule(() -> {
+            entity.removeActivePowerUp(this);
+            refreshPowerUps(entity);
+            cancel(entity);
+        }, duration);
+    }
+
+    // Shows the active power-ups on the match panel, if there is one
+    private void refreshPowerUps(BomberEntity entity) {
+        if (!isDisplayable() || Bomberman.isHeadless()) return;
+
+        Bomberman.getBombermanFrame().getMatchPanel().refreshPowerUps(entity.getActivePowerUps());
     }
 
     /**
@@ -19,6 +19,7 @@ public class AudioManager {
     private static AudioManager instance;
     private final HashMap<String, LinkedList<Clip>> audioHashMap = new HashMap<>();
     private String currentBackgroundSong = "";
+    private boolean enabled = true;
 
     private AudioManager() {
     }
@@ -29,6 +30,19 @@ public class AudioManager {
         return instance;
     }
 
+    /**
+     * Enables or disables the audio, e.g. for matches running without a frame; while disabled nothing is played.
+     *
+     * @param enabled true to play the sounds
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
     public Clip play(SoundModel soundModel) {
         return play(soundModel, false);
     }
@@ -54,6 +68,8 @@ public class AudioManager {
 
 
     public Clip play(String sound, boolean loop, int volumePercentage) {
+        if (!enabled) return null;
+
         try {
             InputStream in = new BufferedInputStream(getClass().getResourceAsStream(String.format("/%s", sound)));
             AudioInputStream audioIn = AudioSystem.getAudioInputStream(in);
@@ -128,7 +144,7 @@ public class AudioManager {
     }
 
     public void playBackgroundSong(String newSong) {
-        if (currentBackgroundSong.equals(newSong)) return;
+        if (!enabled || currentBackgroundSong.equals(newSong)) return;
 
         if (!currentBackgroundSong.isBlank()) {
             stopAllInstancesOfSound(currentBackgroundSong);
@@ -0,0 +1,59 @@
+package game.tasks;
+
+import game.Bomberman;
+import game.entity.models.Entity;
+import game.entity.models.ICPU;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The first phase of every tick of the GameTickerObservable: the CPU controlled entities due to be updated in the
+ * tick choose their direction all together, before any entity is updated, so they all see the same state of the
+ * pitch and none of them sees the moves of the others; each one then applies its decision in its own update.
+ * The decisions are taken in the order of the ids of the entities.
+ */
+public class DecisionPhase {
+    private static final Comparator<Entity> ORDER = Comparator.comparingLong(Entity::getId);
+    // Entities register themselves from both the game thread and the Event Dispatch Thread
+    private final Set<Entity> entities = ConcurrentHashMap.newKeySet();
+    private final List<Entity> due = new ArrayList<>();
+
+    public <T extends Entity & ICPU> void register(T entity) {
+        entities.add(entity);
+    }
+
+    public void unregister(Entity entity) {
+        entities.remove(entity);
+    }
+
+    /**
+     * Lets the entities due to be updated in this tick decide, called by the GameTickerObservable.
+     */
+    void run(GameClock clock) {
+        if (!Bomberman.getMatch().getGameState()) return;
+
+        due.clear();
+        for (Iterator<Entity> iterator = entities.iterator(); iterator.hasNext(); ) {
+            Entity entity = iterator.next();
+
+            if (!entity.isSpawned()) {
+                iterator.remove();
+            } else if (((GameTickerObserver) entity).isDue(clock)) {
+                due.add(entity);
+            }
+        }
+
+        due.sort(ORDER);
+
+        for (Entity entity : due) {
+            ((ICPU) entity).decide();
+        }
+
+        due.clear();
+    }
+}
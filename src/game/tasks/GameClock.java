@@ -0,0 +1,88 @@
+package game.tasks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monotonic clock of a match, measuring the game time: it only advances while the match is running,
+ * at a speed given by its time scale. It should be used instead of the wall clock for anything timed by the game,
+ * so cooldowns and durations are frozen by the pause and follow the simulation when it runs faster.
+ */
+public class GameClock {
+    // Game time starts one day after its origin, so the timestamps left to 0 are long passed,
+    // as they were with System.currentTimeMillis
+    public static final long START_TIME_MS = TimeUnit.DAYS.toMillis(1);
+    private long time = TimeUnit.MILLISECONDS.toNanos(START_TIME_MS);
+    private long lastUpdateTime = System.nanoTime();
+    private double timeScale = 1;
+    private boolean running = false;
+
+    public synchronized void resume() {
+        if (running) return;
+
+        lastUpdateTime = System.nanoTime();
+        running = true;
+    }
+
+    public synchronized void pause() {
+        if (!running) return;
+
+        update();
+        running = false;
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Sets the speed of the game time compared to the real time, e.g. 2 to run the game twice as fast.
+     *
+     * @param timeScale the new time scale, greater than 0
+     */
+    public synchronized void setTimeScale(double timeScale) {
+        if (timeScale <= 0) throw new IllegalArgumentException("The time scale must be greater than 0");
+
+        update();
+        this.timeScale = timeScale;
+    }
+
+    public synchronized double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Moves the game time forward by the given amount, regardless of the real time,
+     * so the simulation can be stepped manually.
+     *
+     * @param millis the game time to add, in milliseconds
+     */
+    public synchronized void advance(long millis) {
+        update();
+        time += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public synchronized long nanos() {
+        update();
+        return time;
+    }
+
+    /**
+     * @return the current game time, in milliseconds;
+     */
+    public long millis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos());
+    }
+
+    /**
+     * @return the game time passed since the given game time, in milliseconds;
+     */
+    public long timePassed(long time) {
+        return millis() - time;
+    }
+
+    private void update() {
+        long now = System.nanoTime();
+        if (running) time += (long) ((now - lastUpdateTime) * timeScale);
+        lastUpdateTime = now;
+    }
+}
@@ -0,0 +1,129 @@
+package game.tasks;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The GameLoop runs the simulation of the game on its own thread, away from the Event Dispatch Thread which
+ * paints and handles the input. Every PeriodicTask is stepped here at its fixed rate: when the loop falls behind,
+ * a task catches up running at most MAX_CATCH_UP_STEPS steps in a row, and the rest of the backlog is dropped,
+ * so a slow step can't snowball into an ever growing one.
+ */
+public class GameLoop implements Runnable {
+    public static final int MAX_CATCH_UP_STEPS = 5;
+    // Maximum time the loop waits when no task is scheduled
+    private static final long IDLE_WAIT_NS = TimeUnit.MILLISECONDS.toNanos(100);
+    private final List<PeriodicTask> tasks = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<Runnable> postedTasks = new LinkedBlockingQueue<>();
+    private final Thread thread;
+
+    // Private constructor to prevent direct instantiation
+    private GameLoop() {
+        thread = new Thread(this, getClass().getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Method to provide access to the singleton instance
+    public static GameLoop getInstance() {
+        return InstanceHolder.instance;
+    }
+
+    /**
+     * Runs the runnable on the game thread, before the next steps of the tasks.
+     *
+     * @param runnable the code to run
+     */
+    public void post(Runnable runnable) {
+        if (isGameThread()) runnable.run();
+        else postedTasks.add(runnable);
+    }
+
+    /**
+     * Runs the runnable on the game thread and waits for it to finish.
+     *
+     * @param runnable the code to run
+     */
+    public void invokeAndWait(Runnable runnable) {
+        if (isGameThread()) {
+            runnable.run();
+            return;
+        }
+
+        FutureTask<Void> future = new FutureTask<>(runnable, null);
+        postedTasks.add(future);
+
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    public boolean isGameThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    void schedule(PeriodicTask task) {
+        if (!tasks.contains(task)) tasks.add(task);
+    }
+
+    void cancel(PeriodicTask task) {
+        tasks.remove(task);
+    }
+
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            runPostedTasks();
+
+            long now = System.nanoTime();
+            long nextStepTime = now + IDLE_WAIT_NS;
+
+            for (PeriodicTask task : tasks) {
+                runSafely(() -> task.step(now));
+
+                if (task.isRunning() && task.getNextStepTime() - nextStepTime < 0)
+                    nextStepTime = task.getNextStepTime();
+            }
+
+            // Sleeps until the next step, waking up earlier if some code is posted
+            long wait = nextStepTime - System.nanoTime();
+            if (wait <= 0) continue;
+
+            try {
+                Runnable posted = postedTasks.poll(wait, TimeUnit.NANOSECONDS);
+                if (posted != null) runSafely(posted);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void runPostedTasks() {
+        Runnable posted;
+        while ((posted = postedTasks.poll()) != null) {
+            runSafely(posted);
+        }
+    }
+
+    // An exception thrown by a task must not stop the whole simulation
+    private void runSafely(Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static final class InstanceHolder {
+        private static final GameLoop instance = new GameLoop();
+    }
+}
@@ -0,0 +1,149 @@
+package game.tasks;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Runs the delayed and repeating actions of a match on the game thread, replacing a Timer (and a thread) for each of
+ * them. The scheduler follows the GameClock of the match, which doesn't advance while the match is paused: tasks are
+ * frozen together with the game and are cancelled when the match is destroyed.
+ */
+public class GameScheduler {
+    private static final int STEP_MS = 10;
+    private final PriorityQueue<GameTask> tasks = new PriorityQueue<>(
+            Comparator.comparingLong((GameTask task) -> task.dueTime).thenComparingLong(task -> task.sequence)
+    );
+    // Null if the tasks are only run when the match is stepped manually
+    private final PeriodicTask periodicTask;
+    private final GameClock clock;
+    private long sequence = 0;
+    private boolean running = false;
+    private boolean destroyed = false;
+
+    public GameScheduler(GameClock clock) {
+        this(clock, true);
+    }
+
+    /**
+     * @param periodic false if the due tasks are run only by calling runDueTasks, e.g. for a headless match
+     */
+    public GameScheduler(GameClock clock, boolean periodic) {
+        this.clock = clock;
+        this.periodicTask = periodic ? new PeriodicTask(this::runDueTasks, STEP_MS) : null;
+    }
+
+    /**
+     * Starts or resumes running the tasks.
+     */
+    public synchronized void resume() {
+        if (running || destroyed) return;
+
+        running = true;
+        if (periodicTask != null) periodicTask.resume();
+    }
+
+    /**
+     * Pauses the scheduler, delaying all the tasks until it is resumed.
+     */
+    public synchronized void pause() {
+        if (!running) return;
+
+        running = false;
+        if (periodicTask != null) periodicTask.stop();
+    }
+
+    /**
+     * Cancels all the tasks and stops the scheduler for good.
+     */
+    public synchronized void destroy() {
+        pause();
+        destroyed = true;
+
+        for (GameTask task : tasks) {
+            task.cancel();
+        }
+
+        tasks.clear();
+    }
+
+    /**
+     * Runs the task once, after the given delay of game time.
+     *
+     * @param task    the task to run
+     * @param delayMs the delay, in milliseconds
+     * @return the scheduled task
+     */
+    public GameTask schedule(GameTask task, long delayMs) {
+        return schedule(task, delayMs, 0);
+    }
+
+    public GameTask schedule(Runnable runnable, long delayMs) {
+        return schedule(GameTask.of(runnable), delayMs);
+    }
+
+    /**
+     * Runs the task repeatedly, waiting the period between the end of a run and the start of the next one.
+     *
+     * @param task     the task to run
+     * @param delayMs  the delay before the first run, in milliseconds
+     * @param periodMs the delay between the runs, in milliseconds
+     * @return the scheduled task
+     */
+    public synchronized GameTask schedule(GameTask task, long delayMs, long periodMs) {
+        if (destroyed) {
+            task.cancel();
+            return task;
+        }
+
+        task.dueTime = clock.millis() + Math.max(0, delayMs);
+        task.period = periodMs;
+        task.sequence = sequence++;
+        tasks.add(task);
+        return task;
+    }
+
+    public synchronized int getPendingTasksCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Runs the tasks that are due by the current game time, called periodically while the scheduler is running
+     * or directly when the match is stepped manually.
+     */
+    public void runDueTasks() {
+        GameTask task;
+
+        while ((task = pollDueTask()) != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+
+            if (task.period > 0) reschedule(task);
+        }
+    }
+
+    private synchronized GameTask pollDueTask() {
+        while (!tasks.isEmpty()) {
+            GameTask task = tasks.peek();
+
+            if (task.isCancelled()) {
+                tasks.poll();
+                continue;
+            }
+
+            return running && task.dueTime <= clock.millis() ? tasks.poll() : null;
+        }
+
+        return null;
+    }
+
+    private synchronized void reschedule(GameTask task) {
+        if (task.isCancelled() || destroyed) return;
+
+        task.dueTime = clock.millis() + task.period;
+        task.sequence = sequence++;
+        tasks.add(task);
+    }
+}
@@ -0,0 +1,40 @@
+package game.tasks;
+
+/**
+ * A delayed or repeating action of the game, run by the GameScheduler of the match on the game thread.
+ */
+public abstract class GameTask implements Runnable {
+    // Game time, in milliseconds, the task is due at
+    long dueTime;
+    // Delay between the runs of a repeating task, 0 or less if the task runs only once
+    long period;
+    // Breaks the ties between tasks due at the same time, so they run in scheduling order
+    long sequence;
+    private volatile boolean cancelled = false;
+
+    /**
+     * Wraps a runnable into a task.
+     *
+     * @param runnable the action to run
+     * @return the task running the given action
+     */
+    public static GameTask of(Runnable runnable) {
+        return new GameTask() {
+            @Override
+            public void run() {
+                runnable.run();
+            }
+        };
+    }
+
+    /**
+     * Cancels the task, it won't run anymore.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -2,25 +2,36 @@ package game.tasks;
 
 import game.Bomberman;
 import game.entity.models.Entity;
+import game.entity.models.EntityPool;
 import game.events.Observable2;
 import game.events.Observer2;
-import game.utils.Utility;
 
 import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The GameTickerObservable class is an observable that notifies its observers periodically with a fixed delay
  * of DELAY_MS milliseconds, ignoring updates if a specific delay is not passed. It extends the Observable class.
+ * The ticks run on the game thread (see GameLoop), and at the end of each one the entities are published
+ * for the rendering.
  */
 public class GameTickerObservable extends Observable2 {
     private final PeriodicTask periodicTask;
-    private final int DELAY_MS = 40;
+    public static final int DELAY_MS = 40;
     /**
      * This ActionListener updates observers of the GameTickerObservable periodically based on the specified delay. It loops through
      * each observer in the observerSet to check if the delay has passed since the last update. If the delay has passed, it calls the
      * update method of the observer with the current GameState object.
      */
     private final Runnable task = () -> {
+        GameClock clock = Bomberman.getMatch().getClock();
+
+        // The despawned entities which the rendering can't draw anymore can be reused
+        EntityPool.recycleAll(Bomberman.getMatch().getOldestVisibleSnapshotVersion());
+
+        // The CPU controlled entities choose their moves before anything moves
+        Bomberman.getMatch().getDecisionPhase().run(clock);
+
         // loop through each observer in the observerSet
         for (Iterator<Observer2> iterator = observers.iterator(); iterator.hasNext();) {
             Observer2 observer = iterator.next();
@@ -33,28 +44,54 @@ public class GameTickerObservable extends Observable2 {
             boolean delayPassed = true;
 
             if (observer instanceof GameTickerObserver) {
-                GameTickerObserver gameTickerObserver = (GameTickerObserver) observer;
-                long lastUpdate = gameTickerObserver.getLastUpdate();
-                long delayObserverUpdate = (long) gameTickerObserver.getDelayObserverUpdate();
-
-                delayPassed = Utility.timePassed(lastUpdate) >= delayObserverUpdate; // check if the delay has passed since the last update
+                delayPassed = ((GameTickerObserver) observer).isDue(clock); // check if the delay has passed since the last update
             }
 
             if (delayPassed) { // if the delay has passed
                 notify(observer, Bomberman.getMatch().getGameState());
             }
         }
+
+        // The projectiles move after the entities, all together
+        if (Bomberman.getMatch().getGameState()) Bomberman.getMatch().getProjectileSystem().update();
+
+        Bomberman.getMatch().publishEntitiesSnapshot();
     };
 
     public GameTickerObservable() {
+        this(true);
+    }
+
+    /**
+     * @param start false to create the ticker without starting it, so it only ticks when asked with tick();
+     */
+    public GameTickerObservable(boolean start) {
+        // Entities register themselves from both the game thread and the Event Dispatch Thread
+        observers = ConcurrentHashMap.newKeySet();
         periodicTask = new PeriodicTask(task, DELAY_MS);
-        periodicTask.start();
+        if (start) periodicTask.start();
+    }
+
+    /**
+     * Updates the observers once, on the calling thread, e.g. when the match is stepped manually.
+     */
+    public void tick() {
+        task.run();
     }
 
     public void resume() {
         periodicTask.resume();
     }
 
+    /**
+     * Ticks faster or slower, so the observers are updated as often as the game time requires.
+     *
+     * @param timeScale the speed of the game time compared to the real time
+     */
+    public void setTimeScale(double timeScale) {
+        periodicTask.setDelay((int) Math.max(1, Math.round(DELAY_MS / timeScale)));
+    }
+
     public void stop() {
         periodicTask.stop();
     }
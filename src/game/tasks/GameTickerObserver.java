@@ -1,5 +1,6 @@
 package game.tasks;
 
+import game.Bomberman;
 import game.events.Observer2;
 
 public abstract class GameTickerObserver implements Observer2 {
@@ -8,7 +9,7 @@ public abstract class GameTickerObserver implements Observer2 {
 
     @Override
     public void update(Object arg) {
-        lastUpdate = System.currentTimeMillis();
+        lastUpdate = Bomberman.getMatch().getClock().millis();
     }
 
     public long getLastUpdate() {
@@ -18,4 +19,11 @@ public abstract class GameTickerObserver implements Observer2 {
     protected float getDelayObserverUpdate() {
         return DEFAULT_DELAY_OBSERVER;
     }
+
+    /**
+     * @return true if the delay of the observer has passed since its last update;
+     */
+    boolean isDue(GameClock clock) {
+        return clock.timePassed(lastUpdate) >= (long) getDelayObserverUpdate();
+    }
 }
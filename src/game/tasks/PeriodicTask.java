@@ -1,37 +1,66 @@
 package game.tasks;
 
-import javax.swing.*;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * A task run periodically with a fixed delay on the game thread, see GameLoop.
+ */
 public class PeriodicTask {
     private final Runnable callback;
-    private final int delay;
-    private final Timer timer;
+    private volatile long delay;
+    private volatile long nextStepTime;
+    private volatile boolean running = false;
 
     public PeriodicTask(Runnable callback, int delay) {
         this.callback = callback;
-        this.delay = delay;
-        this.timer = new Timer(delay, e -> callback.run());
+        this.delay = TimeUnit.MILLISECONDS.toNanos(delay);
     }
 
     public void start() {
-        timer.start();
+        if (running) return;
+
+        nextStepTime = System.nanoTime() + delay;
+        running = true;
+        GameLoop.getInstance().schedule(this);
     }
 
     public void setDelay(int delay) {
-        timer.setDelay(delay);
+        this.delay = TimeUnit.MILLISECONDS.toNanos(delay);
     }
 
     public void resume() {
-        try {
-            if (timer != null) timer.start();
-        } catch (Exception ignored) {
-        }
+        start();
     }
 
     public void stop() {
-        try {
-            if (timer != null) timer.stop();
-        } catch (Exception ignored) {
+        running = false;
+        GameLoop.getInstance().cancel(this);
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    long getNextStepTime() {
+        return nextStepTime;
+    }
+
+    /**
+     * Runs all the steps due at the given time, up to GameLoop.MAX_CATCH_UP_STEPS.
+     *
+     * @param now the current time, in nanoseconds
+     */
+    void step(long now) {
+        int steps = 0;
+
+        while (running && now - nextStepTime >= 0 && steps < GameLoop.MAX_CATCH_UP_STEPS) {
+            nextStepTime += delay;
+            steps++;
+            callback.run();
         }
+
+        // Too far behind, drop the missed steps
+        if (now - nextStepTime >= 0)
+            nextStepTime = now + delay;
     }
 }
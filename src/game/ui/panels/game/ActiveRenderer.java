@@ -0,0 +1,143 @@
+package game.ui.panels.game;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the pitch from a dedicated thread, drawing into a BufferStrategy on a Canvas and flipping the pages
+ * at a capped frame rate, instead of letting Swing schedule repaints on the Event Dispatch Thread.
+ */
+public class ActiveRenderer implements Runnable {
+    public static final int DEFAULT_FRAME_CAP = 60;
+    private static final int BUFFERS = 2;
+    private static final long HIDDEN_CANVAS_DELAY_MS = 100;
+    // Frames per second, 0 or less means uncapped
+    private static volatile int frameCap = Integer.getInteger("bomberman.frameCap", DEFAULT_FRAME_CAP);
+    private final PitchPanel pitchPanel;
+    private final Canvas canvas = new Canvas();
+    private volatile boolean running = false;
+    private Thread thread;
+
+    ActiveRenderer(PitchPanel pitchPanel) {
+        this.pitchPanel = pitchPanel;
+
+        canvas.setPreferredSize(PitchPanel.DIMENSION);
+        canvas.setMaximumSize(PitchPanel.DIMENSION);
+        canvas.setMinimumSize(PitchPanel.DIMENSION);
+        // Frames are drawn by the render thread only, and keys must keep reaching the frame
+        canvas.setIgnoreRepaint(true);
+        canvas.setFocusable(false);
+    }
+
+    public static int getFrameCap() {
+        return frameCap;
+    }
+
+    public static void setFrameCap(int fps) {
+        frameCap = fps;
+    }
+
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+
+        running = true;
+        thread = new Thread(this, getClass().getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        long nextFrameTime = System.nanoTime();
+
+        while (running) {
+            // Nothing to draw while another page is shown
+            if (!canvas.isShowing()) {
+                if (!sleep(TimeUnit.MILLISECONDS.toNanos(HIDDEN_CANVAS_DELAY_MS))) return;
+                nextFrameTime = System.nanoTime();
+                continue;
+            }
+
+            try {
+                renderFrame();
+            } catch (IllegalStateException e) {
+                // The canvas has been removed while drawing, the buffer strategy will be created again
+                continue;
+            }
+
+            int cap = frameCap;
+            if (cap <= 0) {
+                Thread.yield();
+                continue;
+            }
+
+            long frameInterval = TimeUnit.SECONDS.toNanos(1) / cap;
+            nextFrameTime += frameInterval;
+            long wait = nextFrameTime - System.nanoTime();
+
+            if (wait > 0) {
+                if (!sleep(wait)) return;
+            } else if (-wait > frameInterval) {
+                // Too far behind, skip the missed frames instead of rendering them back to back
+                nextFrameTime = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Draws a frame on the back buffer and flips it, drawing it again if the buffer contents are lost.
+     */
+    private void renderFrame() {
+        BufferStrategy strategy = canvas.getBufferStrategy();
+
+        if (strategy == null) {
+            canvas.createBufferStrategy(BUFFERS);
+            strategy = canvas.getBufferStrategy();
+        }
+
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    pitchPanel.renderFrame(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * @return false if the thread has been interrupted while sleeping, true otherwise;
+     */
+    private boolean sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
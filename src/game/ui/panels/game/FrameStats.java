@@ -0,0 +1,62 @@
+package game.ui.panels.game;
+
+/**
+ * Keeps track of the time between consecutive frames, so the frame pacing of the rendering modes can be compared.
+ */
+public class FrameStats {
+    private long lastFrameTime = 0;
+    private long frames = 0;
+    private double mean = 0;
+    // Sum of the squared differences from the mean (Welford's algorithm)
+    private double m2 = 0;
+    private double max = 0;
+
+    /**
+     * Records a new frame, measuring the time passed since the previous one.
+     */
+    public synchronized void onFrame() {
+        long now = System.nanoTime();
+
+        if (lastFrameTime != 0) {
+            double frameTime = (now - lastFrameTime) / 1_000_000d;
+            frames++;
+
+            double delta = frameTime - mean;
+            mean += delta / frames;
+            m2 += delta * (frameTime - mean);
+            max = Math.max(max, frameTime);
+        }
+
+        lastFrameTime = now;
+    }
+
+    public synchronized long getFrames() {
+        return frames;
+    }
+
+    public synchronized double getAverageFrameTimeMs() {
+        return mean;
+    }
+
+    public synchronized double getFrameTimeVarianceMs() {
+        return frames > 1 ? m2 / (frames - 1) : 0;
+    }
+
+    public synchronized double getMaxFrameTimeMs() {
+        return max;
+    }
+
+    public synchronized void reset() {
+        lastFrameTime = 0;
+        frames = 0;
+        mean = m2 = max = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "FrameStats{frames=%d, avg=%.2fms, stdDev=%.2fms, max=%.2fms}",
+                frames, mean, Math.sqrt(getFrameTimeVarianceMs()), max
+        );
+    }
+}
@@ -2,6 +2,7 @@ package game.ui.panels.game;
 
 import game.Bomberman;
 import game.entity.models.Coordinates;
+import game.entity.models.EntityFactories;
 import game.powerups.EmptyPowerup;
 import game.powerups.PowerUp;
 import game.ui.panels.BombermanFrame;
@@ -12,7 +13,6 @@ import game.values.Dimensions;
 
 import javax.swing.*;
 import java.awt.*;
-import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -294,14 +294,9 @@ public class MatchPanel extends PagePanel implements CustomSoundMode {
      */
     public void refreshPowerUps(List<Class<? extends PowerUp>> powerUpList) {
         // Create a copy of the power-up list
-        final List<PowerUp> powerUpsToShow = powerUpList.stream().map(p -> {
-            try {
-                return p.getConstructor(Coordinates.class).newInstance(new Coordinates());
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                     NoSuchMethodException e) {
-                return null;
-            }
-        }).filter(p -> p != null && p.isDisplayable()).collect(Collectors.toList());
+        final List<PowerUp> powerUpsToShow = powerUpList.stream()
+                .map(p -> EntityFactories.create(p, new Coordinates()))
+                .filter(p -> p != null && p.isDisplayable()).collect(Collectors.toList());
 
         // Define the dimension of each power-up image
         final int powerUpImageDimension = Dimensions.DEFAULT_INVENTORY_ICON_SIZE;
@@ -4,16 +4,22 @@ import game.BomberManMatch;
 import game.Bomberman;
 import game.entity.enemies.boss.ghost.GhostBoss;
 import game.entity.models.Entity;
+import game.entity.models.ProjectileKind;
+import game.entity.models.ProjectileSystem;
 import game.events.Observer2;
+import game.level.Level;
 import game.events.RunnablePar;
 import game.sound.AudioManager;
 import game.utils.Utility;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
 import java.util.ConcurrentModificationException;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static game.sound.SoundModel.LIGHT_GLITCH;
 import static game.utils.Utility.loadImage;
@@ -30,8 +36,18 @@ public class PitchPanel extends JPanel implements Observer2 {
     public static final int GRID_SIZE = PitchPanel.COMMON_DIVISOR * 3;
     //GRID_SIZE must be multiplied by an odd number in order to guarantee free space around borders on the game pitch
     public static final Dimension DIMENSION = new Dimension(GRID_SIZE * 13, 11 * GRID_SIZE);
-    private final HashMap<String, RunnablePar> graphicsCallbacks = new HashMap<>();
+    // Switches between the active rendering loop and Swing repaints, see ActiveRenderer; set at launch with
+    // -Dbomberman.activeRendering=true
+    private static final boolean ACTIVE_RENDERING = Boolean.getBoolean("bomberman.activeRendering");
+    private final Map<String, RunnablePar> graphicsCallbacks = new ConcurrentHashMap<>();
+    private final StaticGeometryLayer staticGeometryLayer = new StaticGeometryLayer();
+    private final FrameStats frameStats = new FrameStats();
+    private ActiveRenderer activeRenderer;
     public volatile Graphics2D g2d;
+    // Pitch image already scaled to DIMENSION and converted to the display format, see getPitchBackground
+    private BufferedImage pitchBackground;
+    private Level pitchBackgroundLevel;
+    private GraphicsConfiguration pitchBackgroundConfiguration;
 
     /**
      * Constructs a new GamePanel with the default dimensions and sets it as the observer for the game ticker observable
@@ -42,6 +58,13 @@ public class PitchPanel extends JPanel implements Observer2 {
         setMaximumSize(DIMENSION);
         setMinimumSize(DIMENSION);
 
+        // In active rendering mode frames are drawn on a canvas filling the panel
+        if (isActiveRendering()) {
+            activeRenderer = new ActiveRenderer(this);
+            setLayout(new BorderLayout());
+            add(activeRenderer.getCanvas(), BorderLayout.CENTER);
+        }
+
         // Set this GamePanel as observer for the game ticker observable
         Bomberman.getMatch().getGameTickerObservable().unregisterAll();
         Bomberman.getMatch().getGameTickerObservable().register(this);
@@ -49,6 +72,13 @@ public class PitchPanel extends JPanel implements Observer2 {
         repaint();
     }
 
+    /**
+     * @return true if the frames are drawn by the ActiveRenderer instead of Swing's repaints;
+     */
+    public static boolean isActiveRendering() {
+        return ACTIVE_RENDERING;
+    }
+
     public static void turnOffLights() {
         BomberManMatch match = Bomberman.getMatch();
         if (match == null || !match.getGameState()) return;
@@ -89,31 +119,175 @@ public class PitchPanel extends JPanel implements Observer2 {
     @Override
     public void paint(Graphics g) {
         super.paint(g);
-        this.g2d = (Graphics2D) g;
 
-        Image img = loadImage(Bomberman.getMatch().getCurrentLevel().getPitchImagePath());
-        g.drawImage(img.getScaledInstance((int) getMaximumSize().getWidth(), (int) getMaximumSize().getHeight(), 1), 0, 0, null);
+        if (activeRenderer == null)
+            renderFrame((Graphics2D) g);
+    }
+
+    /**
+     * Draws a frame of the game with the given graphics, either from Swing's paint or from the active rendering thread.
+     *
+     * @param g the graphics to draw with
+     */
+    void renderFrame(Graphics2D g) {
+        frameStats.onFrame();
+        this.g2d = g;
+
+        // The pooled entities of the snapshot aren't reused while it's drawn
+        BomberManMatch match = Bomberman.getMatch();
+        List<? extends Entity> setEntities = match.beginDrawingEntitiesSnapshot();
+
+        try {
+            // Draws the background together with the static geometry baked on it
+            g.drawImage(getStaticLayer(setEntities), 0, 0, null);
 
-        List<? extends Entity> setEntities = Bomberman.getMatch().getEntities();
+            // The snapshot is immutable and random access, reading it by index doesn't allocate any iterator
+            for (int i = 0; i < setEntities.size(); i++) {
+                Entity e = setEntities.get(i);
+                if (e.isStaticGeometry()) continue;
 
-        for (Entity e : setEntities) {
-            try {
-                drawEntity(g2d, e);
-            } catch (ConcurrentModificationException ex) {
-                ex.printStackTrace();
+                try {
+                    drawEntity(g2d, e, this);
+                } catch (ConcurrentModificationException ex) {
+                    ex.printStackTrace();
+                }
             }
+        } finally {
+            match.endDrawingEntitiesSnapshot();
         }
+
+        drawProjectiles(g2d, Bomberman.getMatch().getProjectileSystem().getSnapshot(), this);
+
         // Runs custom callbacks;
         graphicsCallbacks.forEach((key, value) -> value.execute(g2d));
     }
 
+    /**
+     * Returns the background of the pitch, rebuilding it only if the level or the graphics configuration
+     * of the panel changed since the last time it was built.
+     *
+     * @return the pitch background, at exactly DIMENSION
+     */
+    private BufferedImage getPitchBackground() {
+        Level level = Bomberman.getMatch().getCurrentLevel();
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+
+        if (pitchBackground == null || level != pitchBackgroundLevel || configuration != pitchBackgroundConfiguration) {
+            pitchBackground = createPitchBackground(level.getPitchImagePath(), configuration);
+            pitchBackgroundLevel = level;
+            pitchBackgroundConfiguration = configuration;
+            staticGeometryLayer.setBackground(pitchBackground);
+        }
+
+        return pitchBackground;
+    }
+
+    /**
+     * Returns the pitch background with the static geometry drawn on it, updating the areas
+     * of the static entities spawned, moved or despawned since the last frame.
+     *
+     * @param entities the entities of the match
+     * @return the static layer of the pitch
+     */
+    private BufferedImage getStaticLayer(List<? extends Entity> entities) {
+        getPitchBackground();
+        return staticGeometryLayer.update(entities);
+    }
+
+    /**
+     * Decodes the pitch image and scales it once into an image compatible with the given configuration,
+     * so it can be drawn on every frame with a single unscaled copy.
+     */
+    private BufferedImage createPitchBackground(String path, GraphicsConfiguration configuration) {
+        BufferedImage source = loadImage(path);
+        int width = (int) DIMENSION.getWidth();
+        int height = (int) DIMENSION.getHeight();
+
+        BufferedImage background = configuration != null
+                ? configuration.createCompatibleImage(width, height, source.getTransparency())
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g = background.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+
+        return background;
+    }
+
+    /**
+     * Forces the pitch background to be rebuilt on the next frame, e.g. after a display mode change.
+     */
+    public void invalidatePitchBackground() {
+        pitchBackground = null;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // The panel may have been moved to a different screen
+        invalidatePitchBackground();
+
+        if (activeRenderer != null)
+            activeRenderer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        stopRendering();
+        super.removeNotify();
+    }
+
+    /**
+     * Stops the active rendering thread, if any.
+     */
+    public void stopRendering() {
+        if (activeRenderer != null)
+            activeRenderer.stop();
+    }
+
+    /**
+     * @return the component the frames are drawn on, which receives the mouse events of the pitch;
+     */
+    public Component getRenderComponent() {
+        return activeRenderer != null ? activeRenderer.getCanvas() : this;
+    }
+
+    public FrameStats getFrameStats() {
+        return frameStats;
+    }
+
+    /**
+     * Draws the projectiles of the match on top of the entities, all the ones of a kind with the same image.
+     *
+     * @param g2d      the Graphics2D object to draw with
+     * @param snapshot the projectiles to draw
+     * @param observer the object to be notified as more of the image is converted
+     */
+    static void drawProjectiles(Graphics2D g2d, ProjectileSystem.Snapshot snapshot, ImageObserver observer) {
+        if (snapshot.size() == 0) return;
+
+        for (ProjectileKind kind : ProjectileKind.values()) {
+            BufferedImage image = null;
+
+            for (int i = 0; i < snapshot.size(); i++) {
+                if (snapshot.getKind(i) != kind) continue;
+                if (image == null) image = loadImage(kind.getImagePath());
+
+                g2d.drawImage(image, snapshot.getX(i), snapshot.getY(i), kind.getSize(), kind.getSize(), observer);
+            }
+        }
+    }
+
     /**
      * Draws an entity on the game panel
      *
-     * @param g2d the Graphics2D object to draw with
-     * @param e   the entity to draw
+     * @param g2d      the Graphics2D object to draw with
+     * @param e        the entity to draw
+     * @param observer the object to be notified as more of the image is converted
      */
-    private void drawEntity(Graphics2D g2d, Entity e) {
+    static void drawEntity(Graphics2D g2d, Entity e, ImageObserver observer) {
 
 
         // Draw entity's image at entity's coordinates and size
@@ -134,7 +308,7 @@ public class PitchPanel extends JPanel implements Observer2 {
                 e.getCoords().getY() - paddingHeight,
                 (int) Math.ceil(e.getSize() / widthRatio),
                 (int) Math.ceil(e.getSize() / heightRatio),
-                this
+                observer
         );
         g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER));
 
@@ -159,6 +333,8 @@ public class PitchPanel extends JPanel implements Observer2 {
      */
     @Override
     public void update(Object arg) {
-        repaint();
+        // The active rendering thread draws at its own pace
+        if (activeRenderer == null)
+            repaint();
     }
 }
\ No newline at end of file
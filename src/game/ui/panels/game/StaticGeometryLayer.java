@@ -0,0 +1,144 @@
+package game.ui.panels.game;
+
+import game.entity.models.Coordinates;
+import game.entity.models.Entity;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the pitch background together with the static geometry drawn on top of it (stones, invisible blocks...),
+ * so those entities don't go through the generic drawing path on every frame.
+ * When a static entity is spawned, moved or despawned only the area it covers is redrawn.
+ */
+class StaticGeometryLayer {
+    private final Map<Entity, BakedEntity> bakedEntities = new HashMap<>();
+    private BufferedImage background;
+    private BufferedImage layer;
+    private long frame = 0;
+
+    /**
+     * Sets the background of the layer and bakes all the static entities again on the next update.
+     *
+     * @param background the pitch background
+     */
+    void setBackground(BufferedImage background) {
+        this.background = background;
+
+        ColorModel colorModel = background.getColorModel();
+        layer = new BufferedImage(
+                colorModel,
+                colorModel.createCompatibleWritableRaster(background.getWidth(), background.getHeight()),
+                colorModel.isAlphaPremultiplied(),
+                null
+        );
+
+        Graphics2D g = layer.createGraphics();
+        g.drawImage(background, 0, 0, null);
+        g.dispose();
+
+        bakedEntities.clear();
+    }
+
+    BufferedImage getBackground() {
+        return background;
+    }
+
+    /**
+     * Brings the layer up to date with the static entities in the list, redrawing only the areas
+     * of the entities that have been spawned, moved or despawned since the last update.
+     *
+     * @param entities the entities of the match
+     * @return the background with the static geometry on it
+     */
+    BufferedImage update(List<? extends Entity> entities) {
+        frame++;
+        Graphics2D g = null;
+
+        for (int i = 0; i < entities.size(); i++) {
+            Entity e = entities.get(i);
+            if (!e.isStaticGeometry()) continue;
+
+            BakedEntity baked = bakedEntities.get(e);
+
+            if (baked != null && baked.coords == e.getCoords()) {
+                baked.frame = frame;
+                continue;
+            }
+
+            if (g == null) g = layer.createGraphics();
+
+            // The entity has been moved, clear its previous area
+            if (baked != null) redrawArea(g, baked.bounds);
+
+            baked = new BakedEntity(e.getCoords(), getDrawBounds(e), frame);
+            bakedEntities.put(e, baked);
+            redrawArea(g, baked.bounds);
+        }
+
+        // Entities not found in this update have been despawned
+        Iterator<BakedEntity> iterator = bakedEntities.values().iterator();
+        while (iterator.hasNext()) {
+            BakedEntity baked = iterator.next();
+            if (baked.frame == frame) continue;
+
+            iterator.remove();
+
+            if (g == null) g = layer.createGraphics();
+            redrawArea(g, baked.bounds);
+        }
+
+        if (g != null) g.dispose();
+
+        return layer;
+    }
+
+    /**
+     * Restores the background in the given area and draws the static entities overlapping it.
+     */
+    private void redrawArea(Graphics2D g, Rectangle area) {
+        g.setClip(area);
+        g.drawImage(background, 0, 0, null);
+
+        for (Map.Entry<Entity, BakedEntity> entry : bakedEntities.entrySet()) {
+            if (entry.getValue().bounds.intersects(area)) {
+                PitchPanel.drawEntity(g, entry.getKey(), null);
+            }
+        }
+
+        g.setClip(null);
+    }
+
+    /**
+     * @return the area of the pitch the entity is drawn on;
+     */
+    private static Rectangle getDrawBounds(Entity e) {
+        String path = e.getImagePath();
+        float widthRatio = e.getHitboxSizeToWidthRatio(path);
+        float heightRatio = e.getHitboxSizeToHeightRatio(path);
+
+        return new Rectangle(
+                e.getCoords().getX() - e.calculateAndGetPaddingWidth(widthRatio),
+                e.getCoords().getY() - e.calculateAndGetPaddingTop(heightRatio),
+                (int) Math.ceil(e.getSize() / widthRatio),
+                (int) Math.ceil(e.getSize() / heightRatio)
+        );
+    }
+
+    private static final class BakedEntity {
+        private final Coordinates coords;
+        private final Rectangle bounds;
+        private long frame;
+
+        private BakedEntity(Coordinates coords, Rectangle bounds, long frame) {
+            this.coords = coords;
+            this.bounds = bounds;
+            this.frame = frame;
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package game.utils;
 
+import game.Bomberman;
 import game.events.RunnablePar;
-
-import javax.swing.*;
-import java.util.concurrent.atomic.AtomicReference;
-
+import game.tasks.GameClock;
+import game.tasks.GameTask;
+
+/**
+ * Calls the callback with a value going from start to end, changing by step every millisecond of game time. The
+ * values are computed by a task of the match scheduler, so the callback runs on the game thread; the last value
+ * passed is always end.
+ */
 public class GradientCallbackHandler {
+    private static final long PERIOD_MS = 1;
     private final RunnablePar p;
     private final float start;
     private final float end;
     private final float step;
-    private Timer t;
 
     public GradientCallbackHandler(RunnablePar p, final float start, final float end, final float step) {
         this.p = p;
@@ -20,16 +25,27 @@ public class GradientCallbackHandler {
     }
 
     public void execute() {
-        AtomicReference<Float> currValue = new AtomicReference<>(start);
-
-        t = new Timer(1, (l) -> {
-            currValue.updateAndGet(v -> v - step);
-            p.execute(currValue.get());
-
-            boolean hasFinished = step >= 0 ? currValue.get() <= end : currValue.get() >= end;
-            if (hasFinished) t.stop();
-        });
-
-        t.start();
+        GameClock clock = Bomberman.getMatch().getClock();
+
+        Bomberman.getMatch().getScheduler().schedule(new GameTask() {
+            private float currValue = start;
+            private long lastRun = clock.millis();
+
+            @Override
+            public void run() {
+                // The scheduler runs at a coarser rate, so the steps of the elapsed milliseconds are applied at once
+                long now = clock.millis();
+                currValue -= step * Math.max(1, now - lastRun);
+                lastRun = now;
+
+                boolean hasFinished = step >= 0 ? currValue <= end : currValue >= end;
+                if (hasFinished) {
+                    currValue = end;
+                    cancel();
+                }
+
+                p.execute(currValue);
+            }
+        }, PERIOD_MS, PERIOD_MS);
     }
 }
@@ -1,5 +1,6 @@
 package game.utils;
 
+import game.cache.SpriteCache;
 import game.values.Dimensions;
 
 import javax.imageio.ImageIO;
@@ -36,22 +37,31 @@ public class Utility {
         return (int)px((double)dim);
     }
 
+    /**
+     * @return the size of the screen, or the default one when there is no display (e.g. headless matches);
+     */
     public static Dimension getScreenSize() {
+        if (GraphicsEnvironment.isHeadless()) return Dimensions.DEFAULT_SCREEN_SIZE;
         return Toolkit.getDefaultToolkit().getScreenSize();
     }
 
     public static double px(double dim) {
-        Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
+        Dimension screenSize = getScreenSize();
 
         return (dim * ((screenSize.getWidth()) / Dimensions.DEFAULT_SCREEN_SIZE.getWidth()));
     }
     /**
 
-     Loads an image from a file with the given file name.
+     Loads an image from a file with the given file name. Decoded images are kept in the sprite cache,
+     so the file is read only on the first call or after the image has been evicted.
      @param fileName The file name of the image to be loaded.
      @return The loaded image, or null if the file could not be found or read.
      */
     public static BufferedImage loadImage(String fileName) {
+        return SpriteCache.getInstance().queryCache(fileName, Utility::readImage);
+    }
+
+    private static BufferedImage readImage(String fileName) {
         try {
             // Use ClassLoader to load the image from the JAR file
             InputStream inputStream = Utility.class.getResourceAsStream("/" + fileName);
@@ -0,0 +1,19 @@
+package game;
+
+/**
+ * The assertion of the behaviour checks of the tools, which stop at the first failed one.
+ */
+final class Checks {
+    // Private constructor to prevent direct instantiation
+    private Checks() {
+    }
+
+    /**
+     * @param condition the checked condition
+     * @param message   the description of the failure
+     * @throws IllegalStateException if the condition is false
+     */
+    static void check(boolean condition, String message) {
+        if (!condition) throw new IllegalStateException(message);
+    }
+}
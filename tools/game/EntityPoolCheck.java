@@ -0,0 +1,119 @@
+package game;
+
+import game.data.DataInputOutput;
+import game.entity.bomb.Bomb;
+import game.entity.bomb.FireExplosion;
+import game.entity.enemies.boss.clown.Hat;
+import game.entity.models.Coordinates;
+import game.entity.models.Direction;
+import game.entity.models.EnhancedDirection;
+import game.entity.models.Entity;
+import game.entity.models.EntityPool;
+import game.level.world1.World1Level1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static game.Checks.check;
+
+/**
+ * Checks how the entities go back to their pool and are handed out again, with the explosions and the clown hats of
+ * a headless match: a despawned entity is released only once, it isn't reused while the last published snapshot or
+ * the one being drawn may contain it, and it comes back reset to a new generation. Throws at the first failed check.
+ * <p>
+ * Usage: EntityPoolCheck
+ */
+public class EntityPoolCheck {
+    public static void main(String[] args) {
+        DataInputOutput.getInstance().useTemporaryData();
+        BomberManMatch match = Bomberman.startHeadlessMatch(new World1Level1());
+        Coordinates coordinates = new Coordinates(0, 0);
+        Bomb bomb = new Bomb(match.getPlayer());
+        match.getPlayer().setImmune(true);
+
+        // A segment at the end of an arm, which doesn't spread any further
+        checkPool(match, () -> FireExplosion.acquire(match.getPlayer(), coordinates, Direction.UP, 1, bomb, false));
+        checkPool(match, () -> Hat.acquire(coordinates, EnhancedDirection.RIGHTDOWN));
+
+        Bomberman.endHeadlessMatch();
+        System.out.println("EntityPool: all checks passed");
+        System.exit(0);
+    }
+
+    private static void checkPool(BomberManMatch match, Supplier<? extends Entity> acquire) {
+        EntityPool<?> pool = getPool(acquire.get());
+        String type = pool.getType().getSimpleName() + " ";
+
+        // Released once, and not free before the next tick
+        drain(pool);
+        Entity entity = spawn(acquire);
+        match.step();
+        int generation = entity.getGeneration();
+        entity.despawn();
+        entity.despawn();
+        check(pool.size() == 1, type + "released " + pool.size() + " times instead of once");
+        check(!drain(pool).contains(entity), type + "reused in the tick it was despawned");
+
+        // Despawned between two ticks, it is in the last published snapshot until the next tick publishes another one
+        match.step();
+        check(!drain(pool).contains(entity), type + "reused while the last published snapshot contains it");
+
+        // Reused from the tick after, reset to a new generation
+        match.step();
+        Entity reused = acquire.get();
+        check(reused == entity, type + "not reused once a snapshot without it has been published");
+        check(reused.getGeneration() != generation, type + "reused without being reset");
+
+        // Not reused while a snapshot containing it is drawn
+        reused.spawn(true, false);
+        match.step();
+        List<? extends Entity> drawn = match.beginDrawingEntitiesSnapshot();
+        check(drawn.contains(reused), type + "missing from the published snapshot");
+        reused.despawn();
+        match.step();
+        match.step();
+        check(!drain(pool).contains(reused), type + "reused while its snapshot is drawn");
+
+        match.endDrawingEntitiesSnapshot();
+        match.step();
+        check(drain(pool).contains(reused), type + "not reused once its snapshot has been drawn");
+
+        // A spawned entity is still reachable, so it doesn't go back to its pool
+        Entity spawned = spawn(acquire);
+        int size = pool.size();
+        spawned.despawn();
+        spawned.spawn(true, false);
+        spawned.despawn();
+        check(pool.size() == size + 1, type + "released again in the same generation");
+    }
+
+    private static Entity spawn(Supplier<? extends Entity> acquire) {
+        Entity e = acquire.get();
+        e.spawn(true, false);
+        return e;
+    }
+
+    private static EntityPool<?> getPool(Entity e) {
+        for (EntityPool<?> pool : EntityPool.getPools()) {
+            if (pool.getType() == e.getClass()) return pool;
+        }
+
+        throw new IllegalStateException("no pool for " + e.getClass().getSimpleName());
+    }
+
+    /**
+     * Takes all the free entities out of the pool.
+     *
+     * @return the entities taken;
+     */
+    private static List<Entity> drain(EntityPool<?> pool) {
+        List<Entity> taken = new ArrayList<>();
+
+        for (Entity e = pool.acquire(); e != null; e = pool.acquire()) {
+            taken.add(e);
+        }
+
+        return taken;
+    }
+}
@@ -0,0 +1,127 @@
+package game;
+
+import game.data.EntitySpatialHash;
+import game.entity.blocks.StoneBlock;
+import game.entity.enemies.npcs.ClownNose;
+import game.entity.enemies.npcs.Orb;
+import game.entity.models.Coordinates;
+import game.entity.models.Direction;
+import game.entity.models.Entity;
+import game.ui.panels.game.PitchPanel;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static game.Checks.check;
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * Checks the queries of the EntitySpatialHash against a scan of all the entities, on blocks and orbs which are
+ * added, moved and removed at random, so they often cross the borders of the cells. Throws at the first difference.
+ * <p>
+ * Usage: EntitySpatialHashCheck [rounds]
+ */
+public class EntitySpatialHashCheck {
+    private static final int DEFAULT_ROUNDS = 20000;
+    private static final int ENTITIES = 200;
+    private final Random random = new Random(0);
+    private final EntitySpatialHash hash = new EntitySpatialHash();
+    private final List<Entity> entities = new ArrayList<>();
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+
+        new EntitySpatialHashCheck().run(rounds);
+        System.out.printf("EntitySpatialHash: %d rounds checked%n", rounds);
+        System.exit(0);
+    }
+
+    private void run(int rounds) {
+        for (int i = 0; i < ENTITIES; i++) {
+            Entity e = i % 2 == 0 ? new StoneBlock(randomBlock()) : new ClownNose(randomPosition(Orb.SIZE), Direction.UP);
+            entities.add(e);
+            hash.add(e);
+        }
+
+        for (int round = 0; round < rounds; round++) {
+            Entity e = entities.get(random.nextInt(entities.size()));
+
+            switch (random.nextInt(3)) {
+                case 0:
+                    Coordinates position = randomPosition(e.getSize());
+                    e.setPosition(position.getX(), position.getY());
+                    hash.update(e);
+                    break;
+                case 1:
+                    // A small step, which usually keeps the entity in the same cells
+                    int x = Math.min(Math.max(0, e.getX() + random.nextInt(7) - 3), PitchPanel.DIMENSION.width - e.getSize());
+                    e.setPosition(x, e.getY());
+                    hash.update(e);
+                    break;
+                default:
+                    hash.remove(e);
+                    entities.remove(e);
+                    Entity added = new ClownNose(randomPosition(Orb.SIZE), Direction.UP);
+                    entities.add(added);
+                    hash.add(added);
+            }
+
+            check(hash.size() == entities.size(), "size " + hash.size() + " instead of " + entities.size());
+            checkArea();
+            checkPoint();
+        }
+    }
+
+    private void checkArea() {
+        int x = random.nextInt(PitchPanel.DIMENSION.width);
+        int y = random.nextInt(PitchPanel.DIMENSION.height);
+        int width = 1 + random.nextInt(Math.min(GRID_SIZE * 3, PitchPanel.DIMENSION.width - x));
+        int height = 1 + random.nextInt(Math.min(GRID_SIZE * 3, PitchPanel.DIMENSION.height - y));
+        Set<Entity> expected = scan(x, y, width, height);
+
+        List<Entity> sorted = hash.getEntitiesInArea(x, y, width, height, null);
+        check(sorted.size() == expected.size() && expected.containsAll(sorted), "area query " + sorted + " instead of " + expected);
+
+        for (int i = 1; i < sorted.size(); i++) {
+            check(sorted.get(i - 1).getDrawPriority().compareTo(sorted.get(i).getDrawPriority()) <= 0, "area query not in drawing order");
+        }
+
+        List<Entity> collected = new ArrayList<>();
+        hash.collectEntitiesInArea(x, y, width, height, collected);
+        check(collected.size() == expected.size() && expected.containsAll(collected), "collected " + collected + " instead of " + expected);
+    }
+
+    private void checkPoint() {
+        int x = random.nextInt(PitchPanel.DIMENSION.width);
+        int y = random.nextInt(PitchPanel.DIMENSION.height);
+        Set<Entity> expected = scan(x, y, 1, 1);
+
+        check(hash.hasEntitiesOnPoint(x, y) == !expected.isEmpty(), "wrong occupied point " + x + ", " + y);
+        check(new HashSet<>(hash.getEntitiesOnPoint(x, y)).equals(expected), "wrong entities on point " + x + ", " + y);
+    }
+
+    // The entities whose hitbox overlaps the rectangle, found by checking all of them
+    private Set<Entity> scan(int x, int y, int width, int height) {
+        Set<Entity> found = new HashSet<>();
+
+        for (Entity e : entities) {
+            if (e.getX() <= x + width - 1 && x <= e.getX() + e.getSize() - 1
+                    && e.getY() <= y + height - 1 && y <= e.getY() + e.getSize() - 1) found.add(e);
+        }
+
+        return found;
+    }
+
+    private Coordinates randomBlock() {
+        return new Coordinates(random.nextInt(PitchPanel.DIMENSION.width / GRID_SIZE) * GRID_SIZE,
+                random.nextInt(PitchPanel.DIMENSION.height / GRID_SIZE) * GRID_SIZE);
+    }
+
+    private Coordinates randomPosition(int size) {
+        return new Coordinates(random.nextInt(PitchPanel.DIMENSION.width - size + 1),
+                random.nextInt(PitchPanel.DIMENSION.height - size + 1));
+    }
+}
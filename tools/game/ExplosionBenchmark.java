@@ -0,0 +1,120 @@
+package game;
+
+import game.data.DataInputOutput;
+import game.entity.blocks.StoneBlock;
+import game.entity.bomb.AbstractExplosion;
+import game.entity.bomb.Bomb;
+import game.entity.models.Coordinates;
+import game.entity.models.Entity;
+import game.entity.models.EntityPool;
+import game.level.world1.World1Arena;
+import game.ui.panels.game.PitchPanel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * Measures how fast the explosions spread, in a headless match with only the stone blocks of the level and the max
+ * explosion length: first with a bomb on every other free block, all of them exploding at the same time, then with
+ * a bomb on every free block, all of them exploded by the chain reaction started by the first one. Every round
+ * places the bombs again and removes the explosions of the previous one, so all the rounds do the same work.
+ * <p>
+ * Usage: ExplosionBenchmark [rounds]
+ */
+public class ExplosionBenchmark {
+    private static final int DEFAULT_ROUNDS = 200;
+    private static final int WARM_UP_ROUNDS = 50;
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+
+        DataInputOutput.getInstance().useTemporaryData();
+        BomberManMatch match = Bomberman.startHeadlessMatch(new World1Arena());
+
+        // Destroyed blocks may leave power ups behind, so the pitch is cleaned twice
+        for (int i = 0; i < 2; i++) {
+            for (Entity e : new ArrayList<>(match.getEntities())) {
+                if (!(e instanceof StoneBlock) && e != match.getPlayer()) e.despawn();
+            }
+        }
+
+        match.getPlayer().setImmune(true);
+        match.getPlayer().setCurrExplosionLength(AbstractExplosion.MAX_EXPLOSION_LENGTH);
+
+        measure("Simultaneous", match, getBombBlocks(2), false, rounds);
+        measure("Chain reaction", match, getBombBlocks(1), true, rounds);
+        EntityPool.getPools().forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static void measure(String name, BomberManMatch match, List<Coordinates> blocks, boolean chain, int rounds) {
+        run(match, blocks, chain, WARM_UP_ROUNDS);
+
+        long start = System.nanoTime();
+        long segments = run(match, blocks, chain, rounds);
+        long time = System.nanoTime() - start;
+
+        System.out.printf("%s, %d rounds of %d bombs: %d explosion segments, %.3f ms/round, %.0f ns/segment%n",
+                name, rounds, blocks.size(), segments, time / 1e6 / rounds, (double) time / segments);
+    }
+
+    /**
+     * @param spacing the distance between the blocks, in blocks
+     * @return the top left corners of the free blocks of the pitch, with the given spacing;
+     */
+    private static List<Coordinates> getBombBlocks(int spacing) {
+        List<Coordinates> blocks = new ArrayList<>();
+
+        for (int x = 0; x < PitchPanel.DIMENSION.width; x += spacing * GRID_SIZE) {
+            for (int y = 0; y < PitchPanel.DIMENSION.height; y += spacing * GRID_SIZE) {
+                Coordinates block = new Coordinates(x, y);
+                if (Coordinates.getEntitiesOnBlock(block).isEmpty()) blocks.add(block);
+            }
+        }
+
+        return blocks;
+    }
+
+    /**
+     * Places the bombs on the blocks and explodes them, the given number of times.
+     *
+     * @param chain true to explode only the first bomb, leaving the others to the chain reaction
+     * @return the number of explosion segments created;
+     */
+    private static long run(BomberManMatch match, List<Coordinates> blocks, boolean chain, int rounds) {
+        int offset = (GRID_SIZE - Bomb.BOMB_SIZE) / 2;
+        long segments = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            List<Bomb> bombs = new ArrayList<>();
+
+            for (Coordinates block : blocks) {
+                Bomb bomb = new Bomb(match.getPlayer());
+                bomb.setCoords(new Coordinates(block.getX() + offset, block.getY() + offset));
+                bomb.spawn(true, false);
+                bombs.add(bomb);
+            }
+
+            for (Bomb bomb : chain ? bombs.subList(0, 1) : bombs) {
+                bomb.explode();
+            }
+
+            for (Entity e : new ArrayList<>(match.getEntities())) {
+                if (e instanceof AbstractExplosion) {
+                    e.despawn();
+                    segments++;
+                }
+            }
+
+            // Drops the state tasks of the despawned explosions, and lets them be reused from the next round, as they
+            // would from the next tick
+            match.getScheduler().runDueTasks();
+            match.publishEntitiesSnapshot();
+            EntityPool.recycleAll(match.getOldestVisibleSnapshotVersion());
+        }
+
+        return segments;
+    }
+}
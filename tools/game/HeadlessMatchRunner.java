@@ -0,0 +1,111 @@
+package game;
+
+import game.data.DataInputOutput;
+import game.entity.Player;
+import game.entity.models.EntityFactories;
+import game.entity.models.EntityPool;
+import game.hardwareinput.Command;
+import game.level.Level;
+import game.level.world1.World1Arena;
+import game.level.world2.World2Arena;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Runs matches without any frame, audio or rendering, driving the player with random commands and advancing
+ * the simulation as fast as the CPU allows, so its speed can be measured in ticks per second.
+ * The saved player data isn't changed; the number of entities spawned of each type and the statistics of the
+ * pools of the short-lived entities are printed at the end.
+ * <p>
+ * Usage: HeadlessMatchRunner [matches] [max ticks per match]
+ */
+public class HeadlessMatchRunner {
+    private static final int DEFAULT_MATCHES = 5;
+    private static final int DEFAULT_MAX_TICKS = 10000;
+    // Number of ticks the bot keeps the same direction
+    private static final int DIRECTION_TICKS = 10;
+    private static final double ATTACK_PROBABILITY = 0.05;
+    private static final Command[] MOVE_COMMANDS = {
+            Command.MOVE_UP, Command.MOVE_DOWN, Command.MOVE_LEFT, Command.MOVE_RIGHT
+    };
+    private static final Supplier<Level>[] LEVELS = levels();
+    private final Random random = new Random(0);
+
+    /**
+     * Starts the headless matches and prints their results;
+     */
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MATCHES;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TICKS;
+
+        DataInputOutput.getInstance().useTemporaryData();
+        new HeadlessMatchRunner().run(matches, maxTicks);
+        System.exit(0);
+    }
+
+    public void run(int matches, int maxTicks) {
+        long totalTicks = 0;
+        long totalTime = 0;
+
+        for (int i = 0; i < matches; i++) {
+            Level level = LEVELS[i % LEVELS.length].get();
+            BomberManMatch match = Bomberman.startHeadlessMatch(level);
+
+            long start = System.nanoTime();
+            int ticks = runMatch(match, maxTicks);
+            long time = System.nanoTime() - start;
+
+            totalTicks += ticks;
+            totalTime += time;
+            System.out.printf("Match %d (%s): %d ticks, %d entities left, %.0f ticks/s%n",
+                    i + 1, level.getClass().getSimpleName(), ticks, match.getEntities().size(), ticksPerSecond(ticks, time));
+        }
+
+        System.out.printf("Total: %d ticks in %.2f s, %.0f ticks/s%n", totalTicks, totalTime / 1e9, ticksPerSecond(totalTicks, totalTime));
+        EntityFactories.getSpawnCounts().forEach((type, count) ->
+                System.out.printf("  %s spawned: %d%n", type.getSimpleName(), count));
+        EntityPool.getPools().forEach(pool -> System.out.printf("  %s%n", pool));
+        Bomberman.endHeadlessMatch();
+    }
+
+    /**
+     * Steps the match until the player dies, the match stops or the max number of ticks is reached.
+     *
+     * @return the number of ticks run;
+     */
+    private int runMatch(BomberManMatch match, int maxTicks) {
+        Command direction = null;
+        int ticks = 0;
+
+        while (ticks < maxTicks && isRunning(match)) {
+            if (ticks % DIRECTION_TICKS == 0) {
+                direction = MOVE_COMMANDS[random.nextInt(MOVE_COMMANDS.length)];
+            }
+
+            match.getControllerManager().notifyObservers(direction);
+            if (random.nextDouble() < ATTACK_PROBABILITY) {
+                match.getControllerManager().notifyObservers(Command.ATTACK);
+            }
+
+            match.step();
+            ticks++;
+        }
+
+        return ticks;
+    }
+
+    private static boolean isRunning(BomberManMatch match) {
+        Player player = match.getPlayer();
+        return match.getGameState() && player != null && player.isSpawned() && player.getAliveState();
+    }
+
+    private static double ticksPerSecond(long ticks, long nanos) {
+        return nanos > 0 ? ticks * 1e9 / nanos : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Level>[] levels() {
+        return (Supplier<Level>[]) new Supplier<?>[]{World1Arena::new, World2Arena::new};
+    }
+}
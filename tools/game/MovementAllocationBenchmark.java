@@ -0,0 +1,83 @@
+package game;
+
+import game.data.DataInputOutput;
+import game.entity.blocks.StoneBlock;
+import game.entity.enemies.npcs.YellowBall;
+import game.entity.models.Coordinates;
+import game.entity.models.Direction;
+import game.entity.models.Entity;
+import game.level.world1.World1Arena;
+import game.ui.panels.game.PitchPanel;
+
+import java.lang.management.ManagementFactory;
+
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+import static game.ui.panels.game.PitchPanel.PIXEL_UNIT;
+
+/**
+ * Measures the memory allocated by the movement of an entity through an unobstructed row of the pitch, in a headless
+ * match with the stone blocks of the level and one more stone block at the end of the row, so both the free area
+ * check and the check of the next coordinates are run. A normal step is expected to allocate nothing.
+ * <p>
+ * Usage: MovementAllocationBenchmark [runs]
+ */
+public class MovementAllocationBenchmark {
+    private static final int DEFAULT_RUNS = 20000;
+    private static final int WARM_UP_RUNS = 2000;
+
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNS;
+
+        DataInputOutput.getInstance().useTemporaryData();
+        BomberManMatch match = Bomberman.startHeadlessMatch(new World1Arena());
+
+        // Leaves only the stone blocks, and the player far from the first row
+        for (Entity e : match.getEntities()) {
+            if (!(e instanceof StoneBlock) && e != match.getPlayer()) e.despawn();
+        }
+        match.getPlayer().setCoords(new Coordinates(0, PitchPanel.DIMENSION.height - GRID_SIZE));
+
+        int lastColumn = PitchPanel.DIMENSION.width / GRID_SIZE - 1;
+        new StoneBlock(new Coordinates(lastColumn * GRID_SIZE, 0)).spawn(true, false);
+
+        YellowBall enemy = new YellowBall(new Coordinates(0, 0));
+        enemy.spawn(true, false);
+
+        // Stops one block before the stone block at the end of the row
+        int steps = ((lastColumn - 1) * GRID_SIZE - enemy.getSize()) / PIXEL_UNIT;
+
+        run(enemy, steps, WARM_UP_RUNS);
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long moves = run(enemy, steps, runs);
+        long time = System.nanoTime() - start;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%d steps: %d bytes allocated (%.3f bytes/step), %.0f ns/step%n",
+                moves, allocated, (double) allocated / moves, (double) time / moves);
+        System.exit(0);
+    }
+
+    /**
+     * Moves the entity along the row and back to its start, the given number of times.
+     *
+     * @return the number of steps done;
+     */
+    private static long run(YellowBall enemy, int steps, int runs) {
+        long moves = 0;
+
+        for (int run = 0; run < runs; run++) {
+            Direction d = run % 2 == 0 ? Direction.RIGHT : Direction.LEFT;
+
+            for (int step = 0; step < steps; step++) {
+                if (!enemy.moveOrInteract(d)) throw new IllegalStateException("The entity has been stopped at " + enemy.getCoords());
+                moves++;
+            }
+        }
+
+        return moves;
+    }
+}
@@ -0,0 +1,77 @@
+package game;
+
+import game.entity.models.Direction;
+import game.entity.models.PackedCoordinates;
+import game.ui.panels.game.PitchPanel;
+
+import java.util.Random;
+
+import static game.Checks.check;
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * Checks the helpers of PackedCoordinates against the plain arithmetic on separate x and y they replace, on random
+ * coordinates inside and around the pitch, negative ones included. Throws at the first difference.
+ * <p>
+ * Usage: PackedCoordinatesCheck [samples]
+ */
+public class PackedCoordinatesCheck {
+    private static final int DEFAULT_SAMPLES = 1000000;
+    // Coordinates are drawn from a margin around the pitch too
+    private static final int MARGIN = GRID_SIZE * 2;
+
+    public static void main(String[] args) {
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SAMPLES;
+        Random random = new Random(0);
+
+        check(PackedCoordinates.getX(PackedCoordinates.pack(Integer.MIN_VALUE, -1)) == Integer.MIN_VALUE, "min x");
+        check(PackedCoordinates.getY(PackedCoordinates.pack(Integer.MIN_VALUE, -1)) == -1, "negative y");
+        check(PackedCoordinates.getY(PackedCoordinates.pack(-1, Integer.MAX_VALUE)) == Integer.MAX_VALUE, "max y");
+
+        for (int i = 0; i < samples; i++) {
+            int x = randomCoordinate(random, PitchPanel.DIMENSION.width);
+            int y = randomCoordinate(random, PitchPanel.DIMENSION.height);
+            int x2 = randomCoordinate(random, PitchPanel.DIMENSION.width);
+            int y2 = randomCoordinate(random, PitchPanel.DIMENSION.height);
+            int size = 1 + random.nextInt(GRID_SIZE * 2);
+            int size2 = 1 + random.nextInt(GRID_SIZE * 2);
+            int step = random.nextInt(GRID_SIZE);
+            long p = PackedCoordinates.pack(x, y);
+            long p2 = PackedCoordinates.pack(x2, y2);
+            String at = " at " + x + ", " + y;
+
+            check(PackedCoordinates.getX(p) == x && PackedCoordinates.getY(p) == y, "pack" + at);
+            check(PackedCoordinates.toCoordinates(p).getX() == x && PackedCoordinates.toCoordinates(p).getY() == y, "toCoordinates" + at);
+            check(PackedCoordinates.plus(p, x2, y2) == PackedCoordinates.pack(x + x2, y + y2), "plus" + at);
+
+            check(PackedCoordinates.nextCoords(p, Direction.RIGHT, step) == PackedCoordinates.pack(x + step, y), "right" + at);
+            check(PackedCoordinates.nextCoords(p, Direction.LEFT, step) == PackedCoordinates.pack(x - step, y), "left" + at);
+            check(PackedCoordinates.nextCoords(p, Direction.UP, step) == PackedCoordinates.pack(x, y - step), "up" + at);
+            check(PackedCoordinates.nextCoords(p, Direction.DOWN, step) == PackedCoordinates.pack(x, y + step), "down" + at);
+
+            // Rounded towards zero, like the division of Coordinates.roundCoordinates always did
+            check(PackedCoordinates.roundIntToGridSize(x) == (x / GRID_SIZE) * GRID_SIZE, "roundIntToGridSize" + at);
+            check(PackedCoordinates.roundCoordinates(p, step, -step)
+                    == PackedCoordinates.pack((x / GRID_SIZE) * GRID_SIZE + step, (y / GRID_SIZE) * GRID_SIZE - step), "roundCoordinates" + at);
+            check(PackedCoordinates.getCenterCoordinates(p, size) == PackedCoordinates.pack(x + size / 2, y + size / 2), "center" + at);
+
+            boolean valid = x >= 0 && y >= 0 && x + size <= PitchPanel.DIMENSION.width && y + size <= PitchPanel.DIMENSION.height;
+            check(PackedCoordinates.validate(p, size) == valid, "validate" + at);
+
+            boolean contains = x2 >= x && x2 < x + size && y2 >= y && y2 < y + size;
+            check(PackedCoordinates.contains(p, size, p2) == contains, "contains" + at);
+
+            boolean overlaps = x < x2 + size2 && x2 < x + size && y < y2 + size2 && y2 < y + size;
+            check(PackedCoordinates.overlaps(p, size, p2, size2) == overlaps, "overlaps" + at);
+            check(PackedCoordinates.overlaps(p2, size2, p, size) == overlaps, "symmetric overlaps" + at);
+
+            check(Math.abs(PackedCoordinates.distance(p, p2) - Math.hypot(x - x2, y - y2)) < 1e-9, "distance" + at);
+        }
+
+        System.out.printf("PackedCoordinates: %d samples checked%n", samples);
+    }
+
+    private static int randomCoordinate(Random random, int length) {
+        return random.nextInt(length + MARGIN * 2) - MARGIN;
+    }
+}
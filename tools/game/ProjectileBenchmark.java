@@ -0,0 +1,134 @@
+package game;
+
+import game.data.DataInputOutput;
+import game.entity.blocks.StoneBlock;
+import game.entity.enemies.npcs.ClownNose;
+import game.entity.enemies.npcs.Orb;
+import game.entity.models.Coordinates;
+import game.entity.models.Direction;
+import game.entity.models.EnhancedDirection;
+import game.entity.models.Entity;
+import game.entity.models.ProjectileKind;
+import game.entity.models.ProjectileSystem;
+import game.level.world1.World1Level1;
+import game.ui.panels.game.PitchPanel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * Measures the speed of the ticks of a headless match full of clown orbs, fired like the boss does, first as
+ * ClownNose entities and then as projectiles of the ProjectileSystem. Every round fires the same orbs again from the
+ * free blocks of the pitch, in random directions, and steps the match.
+ * <p>
+ * Usage: ProjectileBenchmark [orbs] [rounds] [ticks per round]
+ */
+public class ProjectileBenchmark {
+    private static final int DEFAULT_ORBS = 500;
+    private static final int DEFAULT_ROUNDS = 50;
+    private static final int DEFAULT_TICKS = 20;
+    private static final int WARM_UP_ROUNDS = 10;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final EnhancedDirection[] ENHANCED_DIRECTIONS = EnhancedDirection.values();
+
+    public static void main(String[] args) {
+        int orbs = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ORBS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TICKS;
+
+        DataInputOutput.getInstance().useTemporaryData();
+        BomberManMatch match = Bomberman.startHeadlessMatch(new World1Level1());
+
+        // Destroyed blocks may leave power ups behind, so the pitch is cleaned twice
+        for (int i = 0; i < 2; i++) {
+            for (Entity e : new ArrayList<>(match.getEntities())) {
+                if (!(e instanceof StoneBlock) && e != match.getPlayer()) e.despawn();
+            }
+        }
+
+        match.getPlayer().setImmune(true);
+        List<Coordinates> blocks = getFreeBlocks();
+
+        measure("Entities", match, blocks, false, orbs, rounds, ticks);
+        measure("Projectiles", match, blocks, true, orbs, rounds, ticks);
+        System.exit(0);
+    }
+
+    private static void measure(String name, BomberManMatch match, List<Coordinates> blocks, boolean projectiles, int orbs, int rounds, int ticks) {
+        run(match, blocks, projectiles, orbs, WARM_UP_ROUNDS, ticks);
+
+        long start = System.nanoTime();
+        int left = run(match, blocks, projectiles, orbs, rounds, ticks);
+        long time = System.nanoTime() - start;
+
+        System.out.printf("%s, %d rounds of %d orbs: %.3f ms/tick, %.0f ticks/s, %d orbs left per round%n",
+                name, rounds, orbs, time / 1e6 / rounds / ticks, rounds * ticks * 1e9 / time, left / rounds);
+    }
+
+    /**
+     * Fires the orbs and steps the match, the given number of times.
+     *
+     * @return the number of orbs still on the pitch at the end of the rounds;
+     */
+    private static int run(BomberManMatch match, List<Coordinates> blocks, boolean projectiles, int orbs, int rounds, int ticks) {
+        ProjectileSystem projectileSystem = match.getProjectileSystem();
+        int offset = (GRID_SIZE - Orb.SIZE) / 2;
+        Random random = new Random(0);
+        int left = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            List<Orb> spawned = new ArrayList<>();
+
+            for (int i = 0; i < orbs; i++) {
+                Coordinates block = blocks.get(random.nextInt(blocks.size()));
+                Coordinates coordinates = new Coordinates(block.getX() + offset, block.getY() + offset);
+                boolean enhanced = random.nextBoolean();
+                Direction direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+                EnhancedDirection enhancedDirection = ENHANCED_DIRECTIONS[random.nextInt(ENHANCED_DIRECTIONS.length)];
+
+                if (projectiles && enhanced) {
+                    projectileSystem.fire(ProjectileKind.CLOWN_NOSE, coordinates, enhancedDirection);
+                } else if (projectiles) {
+                    projectileSystem.fire(ProjectileKind.CLOWN_NOSE, coordinates, direction);
+                } else {
+                    Orb orb = enhanced ? new ClownNose(coordinates, enhancedDirection) : new ClownNose(coordinates, direction);
+                    orb.spawn(true, false);
+                    spawned.add(orb);
+                }
+            }
+
+            for (int tick = 0; tick < ticks; tick++) {
+                match.step();
+            }
+
+            left += projectileSystem.size();
+            projectileSystem.clear();
+
+            for (Orb orb : spawned) {
+                if (orb.isSpawned() && orb.getAliveState()) left++;
+                if (orb.isSpawned()) orb.despawn();
+            }
+        }
+
+        return left;
+    }
+
+    /**
+     * @return the top left corners of the blocks of the pitch without entities;
+     */
+    private static List<Coordinates> getFreeBlocks() {
+        List<Coordinates> blocks = new ArrayList<>();
+
+        for (int x = 0; x < PitchPanel.DIMENSION.width; x += GRID_SIZE) {
+            for (int y = 0; y < PitchPanel.DIMENSION.height; y += GRID_SIZE) {
+                Coordinates block = new Coordinates(x, y);
+                if (Coordinates.getEntitiesOnBlock(block).isEmpty()) blocks.add(block);
+            }
+        }
+
+        return blocks;
+    }
+}
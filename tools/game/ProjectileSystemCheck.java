@@ -0,0 +1,90 @@
+package game;
+
+import game.data.DataInputOutput;
+import game.entity.Player;
+import game.entity.blocks.StoneBlock;
+import game.entity.models.Coordinates;
+import game.entity.models.Direction;
+import game.entity.models.EnhancedDirection;
+import game.entity.models.Entity;
+import game.entity.models.ProjectileKind;
+import game.entity.models.ProjectileSystem;
+import game.level.world1.World1Level1;
+import game.ui.panels.game.PitchPanel;
+
+import java.util.ArrayList;
+
+import static game.Checks.check;
+import static game.ui.panels.game.PitchPanel.GRID_SIZE;
+
+/**
+ * Checks the projectiles of a headless match, on a pitch with only the stone blocks, which the clown noses fly over,
+ * and the player: they take a step of their kind in every tick, in straight and enhanced directions, they are removed
+ * at the border of the pitch, they damage the player they meet and they are counted in the enemies alive while they
+ * fly. Throws at the first failed check.
+ * <p>
+ * Usage: ProjectileSystemCheck
+ */
+public class ProjectileSystemCheck {
+    private static final ProjectileKind KIND = ProjectileKind.CLOWN_NOSE;
+
+    public static void main(String[] args) {
+        DataInputOutput.getInstance().useTemporaryData();
+        BomberManMatch match = Bomberman.startHeadlessMatch(new World1Level1());
+        ProjectileSystem projectiles = match.getProjectileSystem();
+        Player player = match.getPlayer();
+
+        // Destroyed blocks may leave power ups behind, so the pitch is cleaned twice
+        for (int i = 0; i < 2; i++) {
+            for (Entity e : new ArrayList<>(match.getEntities())) {
+                if (!(e instanceof StoneBlock) && e != player) e.despawn();
+            }
+        }
+
+        player.setCoords(new Coordinates(0, PitchPanel.DIMENSION.height - GRID_SIZE));
+        player.setImmune(true);
+        int enemies = match.getEnemiesAlive();
+
+        // A straight flight along the top row, until the right border
+        projectiles.fire(KIND, new Coordinates(0, 0), Direction.RIGHT);
+        check(projectiles.size() == 1 && match.getEnemiesAlive() == enemies + 1, "not counted as an enemy once fired");
+
+        int x = 0;
+        while (x + KIND.getStepSize() <= PitchPanel.DIMENSION.width - KIND.getSize()) {
+            match.step();
+            x += KIND.getStepSize();
+
+            ProjectileSystem.Snapshot snapshot = projectiles.getSnapshot();
+            check(snapshot.size() == 1 && snapshot.getX(0) == x && snapshot.getY(0) == 0, "wrong step towards " + x + ", 0");
+            check(snapshot.getKind(0) == KIND, "wrong kind");
+        }
+
+        match.step();
+        check(projectiles.size() == 0, "not removed at the border of the pitch");
+        check(match.getEnemiesAlive() == enemies, "still counted as an enemy once removed");
+
+        // An enhanced direction moves on both axes at every step
+        projectiles.fire(KIND, new Coordinates(0, 0), EnhancedDirection.RIGHTDOWN);
+        match.step();
+        ProjectileSystem.Snapshot snapshot = projectiles.getSnapshot();
+        check(snapshot.getX(0) == KIND.getStepSize() && snapshot.getY(0) == KIND.getStepSize(), "wrong enhanced step");
+
+        projectiles.clear();
+        check(projectiles.size() == 0 && match.getEnemiesAlive() == enemies, "still counted as enemies once cleared");
+
+        // The player is hit by a projectile flying towards them
+        player.setImmune(false);
+        int y = player.getY() + (player.getSize() - KIND.getSize()) / 2;
+        projectiles.fire(KIND, new Coordinates(player.getX() + player.getSize() + KIND.getStepSize(), y), Direction.LEFT);
+
+        for (int i = 0; i < 5 && player.getAliveState(); i++) {
+            match.step();
+        }
+
+        check(!player.getAliveState(), "the player wasn't hit");
+
+        Bomberman.endHeadlessMatch();
+        System.out.println("ProjectileSystem: all checks passed");
+        System.exit(0);
+    }
+}